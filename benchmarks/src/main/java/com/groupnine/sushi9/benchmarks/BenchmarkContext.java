@@ -0,0 +1,32 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.Sushi9Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the application without the web layer against a private in-memory H2 database.
+ */
+final class BenchmarkContext {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private BenchmarkContext() { }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        // Un database per trial: i dati di un benchmark non influenzano il successivo
+        String url = "jdbc:h2:mem:sushi9-bench-" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(Sushi9Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
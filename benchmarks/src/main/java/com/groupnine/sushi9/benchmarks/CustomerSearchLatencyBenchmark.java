@@ -0,0 +1,75 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.dto.CustomerDto;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled latency of the name search and of the lookup by tax code on a table of
+ * a million customers. With the normalized name columns indexed both should stay
+ * in the same range as with a thousand rows; a full scan shows up in the tail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CustomerSearchLatencyBenchmark {
+
+    @Param({"1000000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        DataSet.seed(context, customers, 50, 10000);
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto getCustomerById() {
+        int index = ThreadLocalRandom.current().nextInt(customers);
+        return customerService.getCustomerById(DataSet.customerTaxCode(index));
+    }
+
+    @Benchmark
+    public List<CustomerSummary> searchByFirstName() {
+        String firstName = DataSet.FIRST_NAMES[ThreadLocalRandom.current().nextInt(DataSet.FIRST_NAMES.length)];
+        return customerService.searchByName(firstName.substring(0, 3), 20);
+    }
+
+    @Benchmark
+    public List<CustomerSummary> searchByFullName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = DataSet.FIRST_NAMES[random.nextInt(DataSet.FIRST_NAMES.length)] + " "
+                + DataSet.LAST_NAMES[random.nextInt(DataSet.LAST_NAMES.length)].substring(0, 2);
+        return customerService.searchByName(query, 20);
+    }
+}
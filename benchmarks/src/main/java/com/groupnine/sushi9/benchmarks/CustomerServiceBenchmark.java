@@ -0,0 +1,105 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.dto.CustomerDto;
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hot paths of {@link CustomerService}. Throughput and sampled latency
+ * (with percentiles) are reported together; run with {@code -prof gc}
+ * for the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int customers;
+
+    @Param({"50"})
+    private int employees;
+
+    @Param({"10000"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    // I nuovi clienti continuano la numerazione dei dati iniziali
+    private AtomicInteger nextCustomer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        DataSet.seed(context, customers, employees, orders);
+        customerService = context.getBean(CustomerService.class);
+        nextCustomer = new AtomicInteger(customers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return customerService.createCustomer(DataSet.customer(nextCustomer.getAndIncrement()));
+    }
+
+    @Benchmark
+    public CustomerDto getCustomerById() {
+        int index = ThreadLocalRandom.current().nextInt(customers);
+        return customerService.getCustomerById(DataSet.customerTaxCode(index));
+    }
+
+    @Benchmark
+    public List<CustomerSummary> searchByFirstName() {
+        String firstName = DataSet.FIRST_NAMES[ThreadLocalRandom.current().nextInt(DataSet.FIRST_NAMES.length)];
+        return customerService.searchByName(firstName.substring(0, 3), 20);
+    }
+
+    @Benchmark
+    public List<CustomerSummary> searchByFullName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = DataSet.FIRST_NAMES[random.nextInt(DataSet.FIRST_NAMES.length)] + " "
+                + DataSet.LAST_NAMES[random.nextInt(DataSet.LAST_NAMES.length)].substring(0, 2);
+        return customerService.searchByName(query, 20);
+    }
+
+    @Benchmark
+    public CustomerDto findCustomerWithMostOrders() {
+        return customerService.findCustomerWithMostOrders();
+    }
+
+    @Benchmark
+    public void streamAllCustomers(Blackhole blackhole) {
+        try (var stream = customerService.streamAllCustomers(500)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+}
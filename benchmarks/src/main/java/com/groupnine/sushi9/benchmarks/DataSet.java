@@ -0,0 +1,147 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data: the same volumes always produce the same rows,
+ * so runs on different machines or commits are comparable.
+ */
+final class DataSet {
+
+    static final String[] FIRST_NAMES = {
+            "Mario", "Luigi", "Giulia", "Francesca", "Nicolò", "Lucía", "André", "Chiara",
+            "Marco", "Elena", "Paolo", "Sofia", "Giorgio", "Anna", "Stefano", "Martina"
+    };
+    static final String[] LAST_NAMES = {
+            "Rossi", "Bianchi", "Verdi", "Esposito", "Romano", "Colombo", "Ricci", "Marino",
+            "Greco", "Bruno", "Gallo", "Conti", "De Luca", "Mancini", "Costa", "Giordano"
+    };
+    static final String[] JOB_TITLES = { "Waiter", "Chef", "Sushi Chef", "Cashier", "Manager" };
+
+    private static final int CHUNK = 1000;
+    private static final int TABLES = 50;
+
+    private DataSet() { }
+
+    /**
+     * Tax code with a valid format; customers and employees share the PERSON table,
+     * so the last letter keeps the two ranges apart.
+     */
+    static String taxCode(int index, char kind) {
+        char[] prefix = new char[6];
+        int value = index;
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            prefix[i] = (char) ('A' + value % 26);
+            value /= 26;
+        }
+        return new String(prefix) + "80A01H501" + kind;
+    }
+
+    static String customerTaxCode(int index) {
+        return taxCode(index, 'C');
+    }
+
+    static String employeeTaxCode(int index) {
+        return taxCode(index, 'E');
+    }
+
+    static Customer customer(int index) {
+        return new Customer(customerTaxCode(index),
+                FIRST_NAMES[index % FIRST_NAMES.length],
+                LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length],
+                String.format("3%09d", index),
+                "customer" + index + "@sushi9.test");
+    }
+
+    static Employee employee(int index) {
+        return new Employee(employeeTaxCode(index),
+                FIRST_NAMES[(index + 3) % FIRST_NAMES.length],
+                LAST_NAMES[(index / FIRST_NAMES.length + 5) % LAST_NAMES.length],
+                1200 + (index * 37) % 2800,
+                JOB_TITLES[index % JOB_TITLES.length],
+                LocalDate.of(2015, 1, 1).plusDays(index % 3000));
+    }
+
+    /**
+     * Imports customers and employees through the batch services, then links them with orders.
+     */
+    static void seed(ApplicationContext context, int customers, int employees, int orders) {
+        CustomerService customerService = context.getBean(CustomerService.class);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+
+        List<Customer> customerBatch = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            customerBatch.add(customer(i));
+        }
+        customerService.createCustomers(customerBatch);
+
+        List<Employee> employeeBatch = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            employeeBatch.add(employee(i));
+        }
+        employeeService.createEmployees(employeeBatch);
+
+        seedOrders(context, customers, employees, orders);
+
+        // Gli ordini sono inseriti direttamente: le classifiche vanno ricostruite
+        customerService.rebuildLeaderboard();
+        employeeService.rebuildLeaderboard();
+    }
+
+    // Skewed distribution: a few regulars place most of the orders, as in a real restaurant
+    private static void seedOrders(ApplicationContext context, int customers, int employees, int orders) {
+        // Proxy legato alla transazione corrente
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Random random = new Random(42);
+
+        List<Long> tableIds = transaction.execute(status -> {
+            List<Long> ids = new ArrayList<>(TABLES);
+            for (int i = 0; i < TABLES; i++) {
+                RestaurantTable table = new RestaurantTable();
+                table.setNumSeats(2 + (i % 4) * 2);
+                entityManager.persist(table);
+                ids.add(table.getId());
+            }
+            return ids;
+        });
+
+        for (int start = 0; start < orders; start += CHUNK) {
+            int from = start;
+            int to = Math.min(start + CHUNK, orders);
+            transaction.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    int customer = (int) Math.min(customers - 1, Math.abs(random.nextGaussian()) * customers / 4);
+                    Order order = new Order();
+                    order.setTable(entityManager.getReference(RestaurantTable.class,
+                            tableIds.get(i % tableIds.size())));
+                    order.setEmployee(entityManager.getReference(Employee.class,
+                            employeeTaxCode(random.nextInt(employees))));
+                    order.setCustomers(new ArrayList<>(List.of(entityManager.getReference(Customer.class,
+                            customerTaxCode(customer)))));
+                    order.setDishes(new ArrayList<>());
+                    entityManager.persist(order);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
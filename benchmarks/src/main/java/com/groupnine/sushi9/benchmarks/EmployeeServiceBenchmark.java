@@ -0,0 +1,96 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.dto.SalaryStats;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.repositories.projections.EmployeeSummary;
+import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hot paths of {@link EmployeeService}, the counterpart of {@link CustomerServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000"})
+    private int customers;
+
+    @Param({"50", "5000"})
+    private int employees;
+
+    @Param({"10000"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private AtomicInteger nextEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        DataSet.seed(context, customers, employees, orders);
+        employeeService = context.getBean(EmployeeService.class);
+        nextEmployee = new AtomicInteger(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee createEmployee() {
+        return employeeService.createEmployee(DataSet.employee(nextEmployee.getAndIncrement()));
+    }
+
+    @Benchmark
+    public EmployeeDto getEmployeeById() {
+        int index = ThreadLocalRandom.current().nextInt(employees);
+        return employeeService.getEmployeeById(DataSet.employeeTaxCode(index));
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> findSummariesByJobTitle() {
+        String jobTitle = DataSet.JOB_TITLES[ThreadLocalRandom.current().nextInt(DataSet.JOB_TITLES.length)];
+        return employeeService.findSummariesByJobTitle(jobTitle);
+    }
+
+    @Benchmark
+    public EmployeeDto findEmployeeWithMostOrders() {
+        return employeeService.findEmployeeWithMostOrders();
+    }
+
+    @Benchmark
+    public Employee findEmployeeWithHighestSalary() {
+        return employeeService.findEmployeeWithHighestSalary();
+    }
+
+    @Benchmark
+    public SalaryStats getSalaryStats() {
+        return employeeService.getSalaryStats();
+    }
+}
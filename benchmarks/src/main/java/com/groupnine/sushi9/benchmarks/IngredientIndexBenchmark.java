@@ -0,0 +1,81 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.services.support.IngredientIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Without these ingredients" filter with {@link IngredientIndex} against a scan of
+ * every dish and its ingredients. No application context is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngredientIndexBenchmark {
+
+    private static final int INGREDIENTS = 200;
+    private static final int INGREDIENTS_PER_DISH = 6;
+
+    @Param({"200", "2000"})
+    private int dishes;
+
+    private final IngredientIndex index = new IngredientIndex();
+    private final Map<Long, List<Long>> ingredientsByDish = new HashMap<>();
+    private final Set<Long> excluded = Set.of(1L, 17L, 42L);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (long dishId = 1; dishId <= dishes; dishId++) {
+            List<Long> ingredientIds = new ArrayList<>();
+            for (int i = 0; i < INGREDIENTS_PER_DISH; i++) {
+                ingredientIds.add((long) random.nextInt(INGREDIENTS) + 1);
+            }
+            ingredientsByDish.put(dishId, ingredientIds);
+        }
+        index.rebuild(ingredientsByDish);
+    }
+
+    @Benchmark
+    public List<Long> withoutIndex() {
+        return index.filter(List.of(), excluded);
+    }
+
+    @Benchmark
+    public List<Long> withoutScan() {
+        List<Long> dishIds = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> entry : ingredientsByDish.entrySet()) {
+            boolean allowed = true;
+            for (Long ingredientId : entry.getValue()) {
+                if (excluded.contains(ingredientId)) {
+                    allowed = false;
+                    break;
+                }
+            }
+            if (allowed) {
+                dishIds.add(entry.getKey());
+            }
+        }
+        return dishIds;
+    }
+}
@@ -0,0 +1,91 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test: bursts of concurrent blocking requests on virtual threads versus a
+ * platform thread pool the size of Tomcat's default (200 threads).
+ * <p>
+ * Each request runs a database query, as a web request would; with virtual threads the
+ * application runs with {@code spring.threads.virtual.enabled=true}, so database access
+ * goes through the concurrency-limited DataSource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    private static final int REQUESTS = 2000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"virtual", "platform"})
+    private String threads;
+
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = threads.equals("virtual");
+        context = BenchmarkContext.start("spring.threads.virtual.enabled=" + virtual);
+        DataSet.seed(context, customers, 50, 10000);
+        customerService = context.getBean(CustomerService.class);
+        executor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int burst() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(() -> {
+                // Query non coperta dalla cache: il tempo è speso ad aspettare il database
+                String lastName = DataSet.LAST_NAMES[ThreadLocalRandom.current().nextInt(DataSet.LAST_NAMES.length)];
+                return customerService.findSummariesByLastName(lastName).size();
+            }));
+        }
+        int rows = 0;
+        for (Future<Integer> response : responses) {
+            rows += response.get();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,112 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap residency of {@link CustomerService#streamAllCustomers(int)} over a large table.
+ * <p>
+ * The heap still in use after a full GC is sampled while the stream is consumed and the
+ * peak is reported as the {@code peakRetainedMb} counter. With {@code session=page} the
+ * stream is consumed outside any transaction, as the NDJSON endpoints do, and every page
+ * has its own: the counter should stay flat. With {@code session=request} it is consumed
+ * inside an outer transaction, as a web request with open-in-view would; pages join it
+ * and stay managed, so the counter grows with the rows read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StreamResidencyBenchmark {
+
+    private static final int SAMPLE_EVERY = 100_000;
+
+    @Param({"1000000"})
+    private int customers;
+
+    @Param({"page", "request"})
+    private String session;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private TransactionTemplate transaction;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Residency {
+
+        public long peakRetainedMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakRetainedMb = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        DataSet.seed(context, customers, 50, 10000);
+        customerService = context.getBean(CustomerService.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long streamAllCustomers(Residency residency, Blackhole blackhole) {
+        if (session.equals("request")) {
+            return transaction.execute(status -> consume(residency, blackhole));
+        }
+        return consume(residency, blackhole);
+    }
+
+    private long consume(Residency residency, Blackhole blackhole) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = retained(memory);
+        long count = 0;
+        try (var stream = customerService.streamAllCustomers(500)) {
+            for (var iterator = stream.iterator(); iterator.hasNext(); ) {
+                blackhole.consume(iterator.next());
+                if (++count % SAMPLE_EVERY == 0) {
+                    long retainedMb = (retained(memory) - baseline) >> 20;
+                    residency.peakRetainedMb = Math.max(residency.peakRetainedMb, retainedMb);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static long retained(MemoryMXBean memory) {
+        // Solo gli oggetti ancora raggiungibili: quello che lo stream trattiene
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
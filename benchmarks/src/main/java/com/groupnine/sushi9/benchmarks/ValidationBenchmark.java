@@ -0,0 +1,81 @@
+package com.groupnine.sushi9.benchmarks;
+
+import com.groupnine.sushi9.services.support.PersonValidator;
+import com.groupnine.sushi9.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PersonValidator} against the regular expressions it replaced, on valid and invalid input.
+ * No application context is needed; run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final Pattern TAXCODE_PATTERN = Pattern.compile(Constants.TAXCODE_PATTERN);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(Constants.EMAIL_PATTERN);
+    private static final Pattern PHONE_PATTERN = Pattern.compile(Constants.PHONE_PATTERN);
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private final PersonValidator validator = new PersonValidator();
+
+    private String taxCode;
+    private String email;
+    private String phone;
+
+    @Setup
+    public void setUp() {
+        taxCode = valid ? "RSSMRA80A01H501U" : "RSSMRA80A01H5O1U";
+        email = valid ? "mario.rossi@example.com" : "mario rossi@example.com";
+        phone = valid ? "+393331234567" : "+39333123456x";
+    }
+
+    @Benchmark
+    public boolean taxCodeRegex() {
+        return TAXCODE_PATTERN.matcher(taxCode).matches();
+    }
+
+    @Benchmark
+    public boolean taxCodeValidator() {
+        return validator.isValidTaxCode(taxCode);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean emailValidator() {
+        return validator.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean phoneRegex() {
+        return PHONE_PATTERN.matcher(phone).matches();
+    }
+
+    @Benchmark
+    public boolean phoneValidator() {
+        return validator.isValidPhone(phone);
+    }
+}
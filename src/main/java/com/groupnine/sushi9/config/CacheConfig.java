@@ -0,0 +1,41 @@
+package com.groupnine.sushi9.config;
+
+import com.groupnine.sushi9.dto.CustomerDto;
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.services.support.EntityCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Configuration of the caches placed in front of the Customer and Employee repositories.
+ * They hold immutable DTO snapshots, never the entities themselves.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String EMAIL_INDEX = "email";
+    public static final String PHONE_INDEX = "phone";
+
+    @Bean
+    public EntityCache<CustomerDto> customerCache(
+            @Value("${sushi9.cache.customers.max-size:10000}") int maxSize,
+            @Value("${sushi9.cache.customers.ttl-seconds:600}") long ttlSeconds) {
+        Map<String, Function<CustomerDto, String>> indexes = new LinkedHashMap<>();
+        indexes.put(EMAIL_INDEX, CustomerDto::email);
+        indexes.put(PHONE_INDEX, CustomerDto::phoneNumber);
+        return new EntityCache<>(maxSize, Duration.ofSeconds(ttlSeconds), CustomerDto::taxCode, indexes);
+    }
+
+    @Bean
+    public EntityCache<EmployeeDto> employeeCache(
+            @Value("${sushi9.cache.employees.max-size:1000}") int maxSize,
+            @Value("${sushi9.cache.employees.ttl-seconds:600}") long ttlSeconds) {
+        return new EntityCache<>(maxSize, Duration.ofSeconds(ttlSeconds), EmployeeDto::taxCode, Map.of());
+    }
+}
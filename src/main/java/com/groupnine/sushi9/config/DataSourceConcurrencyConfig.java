@@ -0,0 +1,59 @@
+package com.groupnine.sushi9.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Caps concurrent database access when requests run on virtual threads.
+ * <p>
+ * Sizing: the limit should match the connection pool size
+ * ({@code spring.datasource.hikari.maximum-pool-size}); the pool itself should be
+ * sized for the database (roughly cores * 2 + spindles), not for the number of
+ * concurrent requests, which is unbounded with virtual threads.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("spring.threads.virtual.enabled")
+public class DataSourceConcurrencyConfig {
+
+    static final int ORDER = 0;
+
+    // Statico: i BeanPostProcessor devono esistere prima degli altri bean
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new ConcurrencyLimitPostProcessor(environment);
+    }
+
+    private static final class ConcurrencyLimitPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        ConcurrencyLimitPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource
+                    || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            int maxConcurrency = environment.getProperty("sushi9.datasource.max-concurrency", Integer.class,
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+            long timeoutMs = environment.getProperty("sushi9.datasource.acquire-timeout-ms", Long.class, 30000L);
+            return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, Duration.ofMillis(timeoutMs));
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
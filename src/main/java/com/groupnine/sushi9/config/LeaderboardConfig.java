@@ -0,0 +1,26 @@
+package com.groupnine.sushi9.config;
+
+import com.groupnine.sushi9.services.support.OrderCountLeaderboard;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Order-count leaderboards for customers and employees, rebuilt from the database
+ * at startup by the respective services and kept up to date by the order service.
+ */
+@Configuration
+public class LeaderboardConfig {
+
+    public static final String CUSTOMER_LEADERBOARD = "customerLeaderboard";
+    public static final String EMPLOYEE_LEADERBOARD = "employeeLeaderboard";
+
+    @Bean(CUSTOMER_LEADERBOARD)
+    public OrderCountLeaderboard customerLeaderboard() {
+        return new OrderCountLeaderboard();
+    }
+
+    @Bean(EMPLOYEE_LEADERBOARD)
+    public OrderCountLeaderboard employeeLeaderboard() {
+        return new OrderCountLeaderboard();
+    }
+}
@@ -0,0 +1,128 @@
+package com.groupnine.sushi9.config;
+
+import com.groupnine.sushi9.utils.ErrorType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@code RestaurantFacade} operation and every service call,
+ * counts errors by {@link ErrorType} and the repository calls made by each facade operation.
+ * <p>
+ * Meters are resolved once per method and cached, so the hot path costs two
+ * {@code nanoTime()} calls and a map lookup; tags are never built per call.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    public static final String FACADE_TIMER = "sushi9.facade";
+    public static final String SERVICE_TIMER = "sushi9.service";
+    public static final String QUERIES_SUMMARY = "sushi9.facade.queries";
+    public static final String ERRORS_COUNTER = "sushi9.errors";
+
+    private final MeterRegistry registry;
+
+    private final Map<Method, Timer> facadeTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Method, DistributionSummary> querySummaries = new ConcurrentHashMap<>();
+
+    // Chiamate ai repository dell'operazione di facade in corso sul thread; null fuori da una facade
+    private final ThreadLocal<int[]> repositoryCalls = new ThreadLocal<>();
+
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.groupnine.sushi9.services.RestaurantFacade.*(..))")
+    public Object timeFacade(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        // Una facade chiamata da un'altra è già misurata dalla chiamata esterna
+        int[] outer = repositoryCalls.get();
+        int[] calls = outer != null ? outer : new int[1];
+        if (outer == null) {
+            repositoryCalls.set(calls);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable error) {
+            countError("facade", method, error);
+            throw error;
+        } finally {
+            facadeTimers.computeIfAbsent(method, this::facadeTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (outer == null) {
+                repositoryCalls.remove();
+                querySummaries.computeIfAbsent(method, this::querySummary).record(calls[0]);
+            }
+        }
+    }
+
+    @Around("execution(public * com.groupnine.sushi9.services.*ServiceConcrete.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable error) {
+            countError("service", method, error);
+            throw error;
+        } finally {
+            serviceTimers.computeIfAbsent(method, this::serviceTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object countRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] calls = repositoryCalls.get();
+        if (calls != null) {
+            calls[0]++;
+        }
+        return joinPoint.proceed();
+    }
+
+    private Timer facadeTimer(Method method) {
+        return Timer.builder(FACADE_TIMER)
+                .tag("operation", method.getName())
+                .register(registry);
+    }
+
+    private Timer serviceTimer(Method method) {
+        return Timer.builder(SERVICE_TIMER)
+                .tag("service", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .register(registry);
+    }
+
+    private DistributionSummary querySummary(Method method) {
+        return DistributionSummary.builder(QUERIES_SUMMARY)
+                .description("Repository calls per facade operation")
+                .tag("operation", method.getName())
+                .register(registry);
+    }
+
+    // Errori: percorso raro, il contatore viene risolto a ogni chiamata
+    private void countError(String layer, Method method, Throwable error) {
+        Counter.builder(ERRORS_COUNTER)
+                .tag("layer", layer)
+                .tag("method", method.getName())
+                .tag("type", ErrorType.of(error).tag())
+                .register(registry)
+                .increment();
+    }
+}
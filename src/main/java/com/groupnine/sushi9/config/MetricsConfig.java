@@ -0,0 +1,56 @@
+package com.groupnine.sushi9.config;
+
+import com.groupnine.sushi9.dto.CustomerDto;
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.services.interfaces.InventoryService;
+import com.groupnine.sushi9.services.support.EntityCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the entity cache statistics and the inventory alerts as meters, read at scrape time.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String CACHE_METER_PREFIX = "sushi9.cache";
+
+    @Bean
+    public MeterBinder entityCacheMetrics(EntityCache<CustomerDto> customerCache, EntityCache<EmployeeDto> employeeCache) {
+        return registry -> {
+            bind(registry, "customers", customerCache);
+            bind(registry, "employees", employeeCache);
+        };
+    }
+
+    @Bean
+    public MeterBinder inventoryMetrics(InventoryService inventoryService) {
+        return registry -> {
+            Gauge.builder("sushi9.inventory.low", inventoryService, InventoryService::getLowStockCount)
+                    .description("Ingredients at or below their low-stock threshold")
+                    .register(registry);
+            Gauge.builder("sushi9.inventory.overdrawn", inventoryService, InventoryService::getOverdrawnCount)
+                    .description("Ingredients used beyond their recorded stock")
+                    .register(registry);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String cacheName, EntityCache<?> cache) {
+        FunctionCounter.builder(CACHE_METER_PREFIX + ".hits", cache, c -> c.stats().hits())
+                .tag("cache", cacheName)
+                .register(registry);
+        FunctionCounter.builder(CACHE_METER_PREFIX + ".misses", cache, c -> c.stats().misses())
+                .tag("cache", cacheName)
+                .register(registry);
+        FunctionCounter.builder(CACHE_METER_PREFIX + ".evictions", cache, c -> c.stats().evictions())
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder(CACHE_METER_PREFIX + ".size", cache, c -> c.stats().size())
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.groupnine.sushi9.config;
+
+import com.groupnine.sushi9.services.support.FileOutboxSink;
+import com.groupnine.sushi9.services.support.InMemoryOutboxSink;
+import com.groupnine.sushi9.services.support.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+
+/**
+ * Sink of the outbox publisher, chosen with {@code sushi9.outbox.sink}:
+ * {@code memory} (default) delivers to in-process subscribers, {@code file}
+ * appends to {@code sushi9.outbox.file}. Another broker only needs another
+ * {@link OutboxSink} bean.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sushi9.outbox.sink", havingValue = "memory", matchIfMissing = true)
+    public OutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sushi9.outbox.sink", havingValue = "file")
+    public OutboxSink fileOutboxSink(@Value("${sushi9.outbox.file:outbox/events.ndjson}") String file,
+                                     JsonMapper jsonMapper) {
+        return new FileOutboxSink(Path.of(file), jsonMapper);
+    }
+}
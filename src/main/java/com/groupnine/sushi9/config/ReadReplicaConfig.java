@@ -0,0 +1,112 @@
+package com.groupnine.sushi9.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to a read replica.
+ * <p>
+ * The primary DataSource is wrapped in a {@link LazyConnectionDataSourceProxy}: the
+ * connection is fetched on first use, once the transaction manager has marked it read-only,
+ * and read-only transactions get it from the replica. Only service methods declared
+ * {@code @Transactional(readOnly = true)} are therefore served by the replica, and they must
+ * tolerate replication lag; reads that must see the caller's own writes stay read-write.
+ * Enabled by setting {@code sushi9.datasource.read.url}.
+ * <p>
+ * The replica pool is not a bean of its own (a second DataSource bean would switch off the
+ * primary's auto-configuration); it belongs to the proxy and is closed when the proxy is destroyed.
+ */
+@Configuration
+@ConditionalOnProperty("sushi9.datasource.read.url")
+public class ReadReplicaConfig {
+
+    // Dopo DataSourceConcurrencyConfig: il limite si applica al primario, non al proxy
+    static final int ORDER = DataSourceConcurrencyConfig.ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourcePostProcessor(Environment environment) {
+        return new ReadReplicaPostProcessor(environment);
+    }
+
+    private static final class ReadReplicaPostProcessor implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        // Pool del replica creato per ogni proxy, da chiudere con il proxy
+        private final Map<Object, HikariDataSource> replicaPools = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        ReadReplicaPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || bean instanceof LazyConnectionDataSourceProxy
+                    || bean instanceof ReadReplicaDataSource) {
+                return bean;
+            }
+
+            HikariDataSource pool = replicaPool();
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+            replicaPools.put(proxy, pool);
+            proxy.setReadOnlyDataSource(new ReadReplicaDataSource(replica(pool), primary,
+                    environment.getProperty("sushi9.datasource.read.fallback-to-primary", Boolean.class, true),
+                    Duration.ofMillis(environment.getProperty("sushi9.datasource.read.retry-after-ms", Long.class, 30000L))));
+            return proxy;
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return replicaPools.containsKey(bean);
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            HikariDataSource pool = replicaPools.remove(bean);
+            if (pool != null) {
+                pool.close();
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+
+        private HikariDataSource replicaPool() {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(environment.getRequiredProperty("sushi9.datasource.read.url"))
+                    .username(environment.getProperty("sushi9.datasource.read.username"))
+                    .password(environment.getProperty("sushi9.datasource.read.password"))
+                    .build();
+            replica.setPoolName("sushi9-read");
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(environment.getProperty("sushi9.datasource.read.maximum-pool-size", Integer.class, 10));
+            return replica;
+        }
+
+        private DataSource replica(HikariDataSource replica) {
+            // Con i virtual thread anche il replica ha il suo limite di concorrenza
+            if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                return new ConcurrencyLimitedDataSource(replica, replica.getMaximumPoolSize(),
+                        Duration.ofMillis(environment.getProperty("sushi9.datasource.acquire-timeout-ms", Long.class, 30000L)));
+            }
+            return replica;
+        }
+    }
+}
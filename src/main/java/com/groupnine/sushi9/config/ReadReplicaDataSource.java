@@ -0,0 +1,64 @@
+package com.groupnine.sushi9.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Read replica with an optional fallback to the primary.
+ * When the replica cannot hand out a connection, reads go to the primary for
+ * {@code retryAfter} before the replica is tried again, so an outage costs one failed
+ * attempt per interval instead of one per query.
+ */
+public class ReadReplicaDataSource extends DelegatingDataSource {
+
+    private static final Log logger = LogFactory.getLog(ReadReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final boolean fallbackToPrimary;
+    private final long retryAfterNanos;
+
+    // Istante (nanoTime) fino al quale il replica è considerato non disponibile
+    private volatile long unavailableUntil;
+    private volatile boolean unavailable;
+
+    public ReadReplicaDataSource(DataSource replica, DataSource primary, boolean fallbackToPrimary, Duration retryAfter) {
+        super(replica);
+        this.primary = primary;
+        this.fallbackToPrimary = fallbackToPrimary;
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (fallbackToPrimary && unavailable && System.nanoTime() - unavailableUntil < 0) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = super.getConnection();
+            unavailable = false;
+            return connection;
+        } catch (SQLException e) {
+            if (!fallbackToPrimary) {
+                throw e;
+            }
+            logger.warn("Read replica unavailable, reading from the primary for the next "
+                    + Duration.ofNanos(retryAfterNanos).toSeconds() + " s", e);
+            unavailableUntil = System.nanoTime() + retryAfterNanos;
+            unavailable = true;
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Returns true while reads are being redirected to the primary.
+     */
+    public boolean isUsingPrimary() {
+        return unavailable && System.nanoTime() - unavailableUntil < 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.groupnine.sushi9.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs declared with {@code @Scheduled} in the services.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,31 @@
+package com.groupnine.sushi9.controllers;
+
+import com.groupnine.sushi9.utils.ErrorType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the {@link IllegalArgumentException}s thrown by the services to HTTP problem responses.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        ErrorType type = ErrorType.of(e);
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(statusOf(type), e.getMessage());
+        problem.setProperty("errorType", type.tag());
+        return problem;
+    }
+
+    private static HttpStatus statusOf(ErrorType type) {
+        return switch (type) {
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case ALREADY_EXISTS, CONFLICT -> HttpStatus.CONFLICT;
+            case VALIDATION -> HttpStatus.BAD_REQUEST;
+            case INTERNAL -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.groupnine.sushi9.controllers;
+
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.CustomerDto;
+import com.groupnine.sushi9.dto.OrderDto;
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import com.groupnine.sushi9.services.RestaurantFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST endpoints for customers. List endpoints stream NDJSON instead of buffering whole lists.
+ */
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+
+    @Autowired
+    private RestaurantFacade facade;
+
+    @Autowired
+    private NdjsonStreams ndjson;
+
+    @GetMapping(produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ndjson.response(facade.streamAllCustomers(), CustomerDto::from);
+    }
+
+    @GetMapping(value = "/with-orders", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamWithOrdersBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ndjson.response(facade.streamCustomersWithOrdersBetweenDates(from, to), CustomerDto::from);
+    }
+
+    @GetMapping("/{taxCode}")
+    public CustomerDto get(@PathVariable String taxCode) {
+        return facade.getCustomer(taxCode);
+    }
+
+    @GetMapping("/search")
+    public List<CustomerSummary> search(@RequestParam String q) {
+        return facade.searchCustomersByName(q);
+    }
+
+    @GetMapping("/{taxCode}/orders")
+    public List<OrderDto> orders(@PathVariable String taxCode) {
+        return facade.getCustomerOrders(taxCode).stream().map(OrderDto::from).toList();
+    }
+
+    @GetMapping("/top")
+    public List<OrderCount> top(@RequestParam(defaultValue = "10") int k) {
+        return facade.getTopCustomersByOrderCount(k);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CustomerDto create(@RequestBody CustomerDto customer) {
+        return CustomerDto.from(facade.createCustomer(customer.toEntity()));
+    }
+
+    @PostMapping("/batch")
+    public BatchResult createAll(@RequestBody List<CustomerDto> customers) {
+        List<Customer> entities = new ArrayList<>(customers.size());
+        for (CustomerDto customer : customers) {
+            entities.add(customer != null ? customer.toEntity() : null);
+        }
+        return facade.createCustomers(entities);
+    }
+
+    @PutMapping("/{taxCode}")
+    public CustomerDto update(@PathVariable String taxCode, @RequestBody CustomerDto customer) {
+        return CustomerDto.from(facade.updateCustomer(taxCode, customer.toEntity()));
+    }
+
+    @DeleteMapping("/{taxCode}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable String taxCode) {
+        facade.deleteCustomer(taxCode);
+    }
+}
@@ -0,0 +1,103 @@
+package com.groupnine.sushi9.controllers;
+
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.dto.OrderDto;
+import com.groupnine.sushi9.dto.SalaryStats;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.repositories.projections.EmployeeSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import com.groupnine.sushi9.services.RestaurantFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST endpoints for employees. The full list is streamed as NDJSON.
+ */
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeController {
+
+    @Autowired
+    private RestaurantFacade facade;
+
+    @Autowired
+    private NdjsonStreams ndjson;
+
+    @GetMapping(produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ndjson.response(facade.streamAllEmployees(), EmployeeDto::from);
+    }
+
+    @GetMapping("/{taxCode}")
+    public EmployeeDto get(@PathVariable String taxCode) {
+        return facade.getEmployee(taxCode);
+    }
+
+    @GetMapping(params = "jobTitle")
+    public List<EmployeeSummary> findByJobTitle(@RequestParam String jobTitle) {
+        return facade.findEmployeeSummariesByJobTitle(jobTitle);
+    }
+
+    @GetMapping("/{taxCode}/orders")
+    public List<OrderDto> orders(@PathVariable String taxCode) {
+        return facade.getOrdersManagedByEmployee(taxCode).stream().map(OrderDto::from).toList();
+    }
+
+    @GetMapping("/top")
+    public List<OrderCount> top(@RequestParam(defaultValue = "10") int k) {
+        return facade.getTopEmployeesByOrderCount(k);
+    }
+
+    @GetMapping("/salaries")
+    public SalaryStats salaryStats() {
+        return facade.getSalaryStats();
+    }
+
+    @GetMapping("/salaries/by-job-title")
+    public Map<String, SalaryStats> salaryStatsByJobTitle() {
+        return facade.getSalaryStatsByJobTitle();
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public EmployeeDto create(@RequestBody EmployeeDto employee) {
+        return EmployeeDto.from(facade.createEmployee(employee.toEntity()));
+    }
+
+    @PostMapping("/batch")
+    public BatchResult createAll(@RequestBody List<EmployeeDto> employees) {
+        List<Employee> entities = new ArrayList<>(employees.size());
+        for (EmployeeDto employee : employees) {
+            entities.add(employee != null ? employee.toEntity() : null);
+        }
+        return facade.createEmployees(entities);
+    }
+
+    @PutMapping("/{taxCode}")
+    public EmployeeDto update(@PathVariable String taxCode, @RequestBody EmployeeDto employee) {
+        return EmployeeDto.from(facade.updateEmployee(taxCode, employee.toEntity()));
+    }
+
+    @DeleteMapping("/{taxCode}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable String taxCode) {
+        facade.deleteEmployee(taxCode);
+    }
+}
@@ -0,0 +1,51 @@
+package com.groupnine.sushi9.controllers;
+
+import com.groupnine.sushi9.dto.KitchenTicket;
+import com.groupnine.sushi9.model.KitchenStation;
+import com.groupnine.sushi9.services.RestaurantFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST endpoints for the kitchen stations and their displays.
+ */
+@RestController
+@RequestMapping("/api/kitchen")
+public class KitchenController {
+
+    @Autowired
+    private RestaurantFacade facade;
+
+    @GetMapping("/{station}/queue")
+    public List<KitchenTicket> queue(@PathVariable KitchenStation station,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return facade.getKitchenQueue(station, limit);
+    }
+
+    @PostMapping("/{station}/next")
+    public ResponseEntity<KitchenTicket> startNext(@PathVariable KitchenStation station) {
+        return facade.startNextTicket(station)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/tickets/{id}/done")
+    public KitchenTicket complete(@PathVariable long id) {
+        return facade.completeTicket(id);
+    }
+
+    @GetMapping(path = "/{station}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable KitchenStation station) {
+        return facade.subscribeKitchenDisplay(station);
+    }
+}
@@ -0,0 +1,47 @@
+package com.groupnine.sushi9.controllers;
+
+import com.groupnine.sushi9.dto.MenuItem;
+import com.groupnine.sushi9.dto.MenuSnapshot;
+import com.groupnine.sushi9.services.RestaurantFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Read-only REST endpoints for the menu shown on the table tablets.
+ */
+@RestController
+@RequestMapping("/api/menu")
+public class MenuController {
+
+    @Autowired
+    private RestaurantFacade facade;
+
+    @GetMapping
+    public MenuSnapshot menu() {
+        return facade.getMenu();
+    }
+
+    @GetMapping("/items")
+    public List<MenuItem> items(@RequestParam(defaultValue = "false") boolean availableOnly) {
+        MenuSnapshot menu = facade.getMenu();
+        return availableOnly ? menu.availableItems() : menu.getItems();
+    }
+
+    // Es. /api/menu/filter?without=3,7 per escludere gli allergeni
+    @GetMapping("/filter")
+    public List<MenuItem> filter(@RequestParam(name = "with", required = false) List<Long> required,
+                                 @RequestParam(name = "without", required = false) List<Long> excluded) {
+        return facade.filterMenu(required, excluded);
+    }
+
+    @GetMapping("/items/{id}")
+    public MenuItem item(@PathVariable long id) {
+        return facade.getMenuItem(id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.groupnine.sushi9.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes lazily loaded streams as newline-delimited JSON.
+ * Each element is mapped, serialized and sent as soon as it is read, so pages are
+ * fetched from the database while the client is consuming the previous ones and
+ * memory use does not grow with the size of the result.
+ * <p>
+ * Responses are written outside any transaction (open-in-view is off), so the services
+ * read every page in its own transaction and entities already written are detached and
+ * collectable even while the response is still being sent.
+ */
+@Component
+public class NdjsonStreams {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter writer;
+
+    public NdjsonStreams(JsonMapper jsonMapper) {
+        this.writer = jsonMapper.writer();
+    }
+
+    /**
+     * Builds a streaming response. The stream is created by the caller, so invalid
+     * arguments are reported before the response is committed; it is closed once written.
+     */
+    public <T, R> ResponseEntity<StreamingResponseBody> response(Stream<T> rows, Function<T, R> toDto) {
+        StreamingResponseBody body = out -> {
+            try (rows) {
+                Iterator<T> iterator = rows.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    out.write(writer.writeValueAsBytes(toDto.apply(iterator.next())));
+                    out.write('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,71 @@
+package com.groupnine.sushi9.controllers;
+
+import com.groupnine.sushi9.dto.OrderDto;
+import com.groupnine.sushi9.dto.OrderRequest;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.services.RestaurantFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST endpoints for orders and their state transitions.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    @Autowired
+    private RestaurantFacade facade;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public OrderDto create(@RequestBody OrderRequest request) {
+        return OrderDto.from(facade.createOrder(request.tableId(), request.employeeTaxCode(),
+                request.customerTaxCodes(), request.dishIds()));
+    }
+
+    @GetMapping("/{id}")
+    public OrderDto get(@PathVariable long id) {
+        return OrderDto.from(facade.getOrder(id));
+    }
+
+    @GetMapping
+    public List<OrderDto> findByState(@RequestParam OrderState state) {
+        return facade.getOrdersByState(state).stream().map(OrderDto::from).toList();
+    }
+
+    @PostMapping("/{id}/send")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void sendToKitchen(@PathVariable long id) {
+        facade.sendOrderToKitchen(id);
+    }
+
+    @PostMapping("/{id}/serve")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void serve(@PathVariable long id) {
+        facade.serveOrder(id);
+    }
+
+    @PostMapping("/{id}/pay")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void pay(@PathVariable long id) {
+        facade.payOrder(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable long id) {
+        facade.deleteOrder(id);
+    }
+}
@@ -0,0 +1,25 @@
+package com.groupnine.sushi9.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ * Rows that fail validation or collide with existing data are reported in
+ * {@code rejects} and do not prevent the remaining rows from being imported.
+ *
+ * @param submitted the number of rows received
+ * @param imported  the number of rows persisted
+ * @param rejects   the rejected rows, ordered by position in the input
+ */
+public record BatchResult(int submitted, int imported, List<Reject> rejects) {
+
+    /**
+     * A row that was not imported.
+     *
+     * @param row     the zero-based position of the row in the input
+     * @param taxCode the tax code of the row, if any
+     * @param reason  the validation or uniqueness error
+     */
+    public record Reject(int row, String taxCode, String reason) {
+    }
+}
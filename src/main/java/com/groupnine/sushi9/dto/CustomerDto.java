@@ -0,0 +1,24 @@
+package com.groupnine.sushi9.dto;
+
+import com.groupnine.sushi9.model.Customer;
+
+/**
+ * Customer as exchanged by the REST API: only its own columns, never the lazy orders.
+ *
+ * @param taxCode     the tax code
+ * @param firstName   the first name
+ * @param lastName    the last name
+ * @param email       the email
+ * @param phoneNumber the phone number, may be null
+ */
+public record CustomerDto(String taxCode, String firstName, String lastName, String email, String phoneNumber) {
+
+    public static CustomerDto from(Customer customer) {
+        return new CustomerDto(customer.getTaxCode(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhoneNumber());
+    }
+
+    public Customer toEntity() {
+        return new Customer(taxCode, firstName, lastName, phoneNumber, email);
+    }
+}
@@ -0,0 +1,28 @@
+package com.groupnine.sushi9.dto;
+
+import com.groupnine.sushi9.model.Employee;
+
+import java.time.LocalDate;
+
+/**
+ * Employee as exchanged by the REST API: only its own columns, never the lazy managed orders.
+ *
+ * @param taxCode   the tax code
+ * @param firstName the first name
+ * @param lastName  the last name
+ * @param salary    the salary
+ * @param jobTitle  the job title
+ * @param hireDate  the hire date, may be null
+ */
+public record EmployeeDto(String taxCode, String firstName, String lastName,
+                          double salary, String jobTitle, LocalDate hireDate) {
+
+    public static EmployeeDto from(Employee employee) {
+        return new EmployeeDto(employee.getTaxCode(), employee.getFirstName(), employee.getLastName(),
+                employee.getSalary(), employee.getJobTitle(), employee.getHireDate());
+    }
+
+    public Employee toEntity() {
+        return new Employee(taxCode, firstName, lastName, salary, jobTitle, hireDate);
+    }
+}
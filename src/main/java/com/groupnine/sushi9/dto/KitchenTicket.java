@@ -0,0 +1,25 @@
+package com.groupnine.sushi9.dto;
+
+import com.groupnine.sushi9.model.KitchenStation;
+
+import java.time.Instant;
+
+/**
+ * One dish of an order waiting to be prepared, or being prepared, at a kitchen station.
+ * Tickets are ordered by {@code startBy}, the latest time the dish can be started
+ * and still reach the table within the target serve time: dishes of tables that
+ * have waited longer, and dishes that take longer to prepare, come first.
+ *
+ * @param id          the ticket id, not reused after a restart
+ * @param orderId     the order id
+ * @param tableId     the table id, may be null
+ * @param dishId      the dish id
+ * @param dishName    the dish name
+ * @param station     the station that prepares the dish
+ * @param prepSeconds the preparation time of the dish
+ * @param orderedAt   when the order was created
+ * @param startBy     the latest time the dish should be started
+ */
+public record KitchenTicket(long id, long orderId, Long tableId, long dishId, String dishName,
+                            KitchenStation station, int prepSeconds, Instant orderedAt, Instant startBy) {
+}
@@ -0,0 +1,10 @@
+package com.groupnine.sushi9.dto;
+
+/**
+ * Ingredient as shown on the menu.
+ *
+ * @param id   the ingredient id
+ * @param name the ingredient name
+ */
+public record MenuIngredient(long id, String name) {
+}
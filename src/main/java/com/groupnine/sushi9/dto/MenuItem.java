@@ -0,0 +1,40 @@
+package com.groupnine.sushi9.dto;
+
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Ingredient;
+import com.groupnine.sushi9.model.KitchenStation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of a {@link Dish} as shown on the menu.
+ *
+ * @param id          the dish id
+ * @param name        the dish name
+ * @param description the dish description
+ * @param price       the price
+ * @param quantity    the portions in stock
+ * @param available   whether at least one portion is in stock
+ * @param station     the kitchen station that prepares the dish
+ * @param prepSeconds the preparation time
+ * @param ingredients the ingredients of the dish
+ */
+public record MenuItem(long id, String name, String description, double price, int quantity, boolean available,
+                       KitchenStation station, int prepSeconds, List<MenuIngredient> ingredients) {
+
+    public static MenuItem from(Dish dish) {
+        List<MenuIngredient> ingredients = new ArrayList<>();
+        for (Ingredient ingredient : dish.getIngredients()) {
+            ingredients.add(new MenuIngredient(ingredient.getId(), ingredient.getName()));
+        }
+        return new MenuItem(dish.getId(), dish.getName(), dish.getDescription(), dish.getPrice(),
+                dish.getQuantity(), dish.getQuantity() > 0, dish.getStation(), dish.getPrepSeconds(),
+                List.copyOf(ingredients));
+    }
+
+    public MenuItem withQuantity(int quantity) {
+        return new MenuItem(id, name, description, price, quantity, quantity > 0,
+                station, prepSeconds, ingredients);
+    }
+}
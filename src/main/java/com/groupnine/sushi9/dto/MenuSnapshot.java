@@ -0,0 +1,86 @@
+package com.groupnine.sushi9.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable menu at a point in time, dishes sorted by name.
+ * Never modified after construction: changes produce a new snapshot, so any
+ * number of readers can share one without locking.
+ */
+public final class MenuSnapshot {
+
+    public static final MenuSnapshot EMPTY = new MenuSnapshot(0, Instant.EPOCH, List.of());
+
+    private static final Comparator<MenuItem> BY_NAME =
+            Comparator.comparing(MenuItem::name, String.CASE_INSENSITIVE_ORDER).thenComparingLong(MenuItem::id);
+
+    private final long version;
+    private final Instant builtAt;
+    private final List<MenuItem> items;
+    private final Map<Long, MenuItem> byId;
+
+    public MenuSnapshot(long version, Instant builtAt, Collection<MenuItem> items) {
+        List<MenuItem> sorted = new ArrayList<>(items);
+        sorted.sort(BY_NAME);
+        Map<Long, MenuItem> index = new HashMap<>();
+        for (MenuItem item : sorted) {
+            index.put(item.id(), item);
+        }
+        this.version = version;
+        this.builtAt = builtAt;
+        this.items = List.copyOf(sorted);
+        this.byId = Map.copyOf(index);
+    }
+
+    /**
+     * Returns the version, assigned when the snapshot is installed.
+     * Snapshots are installed one at a time, so a higher version always
+     * reflects the database at a later point.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public List<MenuItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the dish with the given id, or null if it is not on the menu.
+     */
+    public MenuItem item(long dishId) {
+        return byId.get(dishId);
+    }
+
+    /**
+     * Returns the dishes with at least one portion in stock.
+     */
+    public List<MenuItem> availableItems() {
+        return items.stream().filter(MenuItem::available).toList();
+    }
+
+    /**
+     * Returns a new snapshot with some dishes replaced by their current state.
+     * Dishes among {@code dishIds} with no item in {@code current} are removed.
+     */
+    public MenuSnapshot withItems(long version, Collection<Long> dishIds, Collection<MenuItem> current) {
+        Map<Long, MenuItem> updated = new HashMap<>(byId);
+        for (Long dishId : dishIds) {
+            updated.remove(dishId);
+        }
+        for (MenuItem item : current) {
+            updated.put(item.id(), item);
+        }
+        return new MenuSnapshot(version, Instant.now(), updated.values());
+    }
+}
@@ -0,0 +1,44 @@
+package com.groupnine.sushi9.dto;
+
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order as returned by the REST API. Associations are flattened to ids,
+ * so serializing an order never walks the customer or dish graphs.
+ *
+ * @param id               the order id
+ * @param state            the order state
+ * @param version          the optimistic lock version
+ * @param tableId          the id of the table
+ * @param employeeTaxCode  the tax code of the managing employee, may be null
+ * @param customerTaxCodes the tax codes of the customers
+ * @param dishIds          the ids of the ordered dishes, one per portion
+ */
+public record OrderDto(long id, OrderState state, long version, Long tableId, String employeeTaxCode,
+                       List<String> customerTaxCodes, List<Long> dishIds) {
+
+    public static OrderDto from(Order order) {
+        List<String> customerTaxCodes = new ArrayList<>();
+        if (order.getClients() != null) {
+            for (Customer customer : order.getClients()) {
+                customerTaxCodes.add(customer.getTaxCode());
+            }
+        }
+        List<Long> dishIds = new ArrayList<>();
+        if (order.getPlates() != null) {
+            for (Dish dish : order.getPlates()) {
+                dishIds.add(dish.getId());
+            }
+        }
+        return new OrderDto(order.getId(), order.getstate(), order.getVersion(),
+                order.getTable() != null ? order.getTable().getId() : null,
+                order.getEmployee() != null ? order.getEmployee().getTaxCode() : null,
+                customerTaxCodes, dishIds);
+    }
+}
@@ -0,0 +1,14 @@
+package com.groupnine.sushi9.dto;
+
+import java.util.List;
+
+/**
+ * Body of an order creation request.
+ *
+ * @param tableId          the id of the table
+ * @param employeeTaxCode  the tax code of the managing employee, may be null
+ * @param customerTaxCodes the tax codes of the customers
+ * @param dishIds          the ids of the ordered dishes, repeated once per portion
+ */
+public record OrderRequest(long tableId, String employeeTaxCode, List<String> customerTaxCodes, List<Long> dishIds) {
+}
@@ -0,0 +1,28 @@
+package com.groupnine.sushi9.dto;
+
+import com.groupnine.sushi9.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * Change event as handed to an outbox sink.
+ * Delivery is at least once: consumers should ignore ids they have already seen.
+ * Events of the same aggregate arrive in {@code sequence} order; ids are unique
+ * but say nothing about order.
+ *
+ * @param id            the event id, unique
+ * @param aggregateType the kind of entity that changed, e.g. {@code order}
+ * @param aggregateId   the id of the entity that changed
+ * @param sequence      the position of the event among those of its aggregate, starting from 1
+ * @param eventType     what happened, e.g. {@code order.state-changed}
+ * @param payload       the event data as JSON
+ * @param createdAt     when the change was made
+ */
+public record OutboxMessage(long id, String aggregateType, String aggregateId, long sequence,
+                            String eventType, String payload, Instant createdAt) {
+
+    public static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getAggregateSequence(), event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
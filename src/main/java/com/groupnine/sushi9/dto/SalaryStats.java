@@ -0,0 +1,18 @@
+package com.groupnine.sushi9.dto;
+
+/**
+ * Salary distribution of a group of employees.
+ * Percentiles use the nearest-rank method; all values are 0 for an empty group.
+ *
+ * @param count the number of employees
+ * @param min   the lowest salary
+ * @param max   the highest salary
+ * @param mean  the average salary
+ * @param p25   the 25th percentile
+ * @param p50   the median
+ * @param p75   the 75th percentile
+ * @param p90   the 90th percentile
+ */
+public record SalaryStats(int count, double min, double max, double mean,
+                          double p25, double p50, double p75, double p90) {
+}
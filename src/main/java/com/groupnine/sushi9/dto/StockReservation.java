@@ -0,0 +1,17 @@
+package com.groupnine.sushi9.dto;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Portions of one or more dishes held for an order.
+ * The stock is already decremented; the reservation is either committed
+ * (the portions are consumed) or released (the portions go back to stock).
+ *
+ * @param id         the reservation id
+ * @param quantities the reserved portions by dish id
+ * @param createdAt  when the reservation was made
+ */
+public record StockReservation(UUID id, Map<Long, Integer> quantities, Instant createdAt) {
+}
@@ -1,14 +1,27 @@
 package com.groupnine.sushi9.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.OneToMany;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import java.util.List;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Customer.EMAIL_CONSTRAINT, columnNames = "EMAIL"),
+        @UniqueConstraint(name = Customer.PHONE_CONSTRAINT, columnNames = "PHONE_NUMBER")
+})
 public class Customer extends Person {
 
+    public static final String EMAIL_CONSTRAINT = "UK_CUSTOMER_EMAIL";
+    public static final String PHONE_CONSTRAINT = "UK_CUSTOMER_PHONE";
+
+    @Column(name = "PHONE_NUMBER")
     private String phoneNumber;
+
+    @Column(name = "EMAIL")
     private String email;
 
     public Customer() {}
@@ -20,7 +33,8 @@ public class Customer extends Person {
         this.email = email;
     }
 
-    @OneToMany(mappedBy = "customer")
+    // Lato inverso di Order.customers
+    @ManyToMany(mappedBy = "customers")
     private List<Order> orders;
 
     public String getPhoneNumber() {
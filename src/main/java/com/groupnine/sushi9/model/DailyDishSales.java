@@ -0,0 +1,51 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Portions sold and revenue of a dish in a day, kept up to date as orders are paid.
+ */
+@Entity
+@Table(name = "DAILY_DISH_SALES")
+public class DailyDishSales {
+
+    @Embeddable
+    public record Key(@Column(name = "SALES_DAY") LocalDate day,
+                      @Column(name = "DISH_ID") long dishId) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "QUANTITY")
+    private long quantity;
+
+    @Column(name = "REVENUE")
+    private double revenue;
+
+    public DailyDishSales() {}
+
+    public DailyDishSales(Key id, long quantity, double revenue) {
+        this.id = id;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() {
+        return id.day();
+    }
+
+    public long getDishId() {
+        return id.dishId();
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+}
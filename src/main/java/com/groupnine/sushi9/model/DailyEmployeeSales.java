@@ -0,0 +1,51 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Orders and revenue managed by an employee in a day, kept up to date as orders are paid.
+ */
+@Entity
+@Table(name = "DAILY_EMPLOYEE_SALES")
+public class DailyEmployeeSales {
+
+    @Embeddable
+    public record Key(@Column(name = "SALES_DAY") LocalDate day,
+                      @Column(name = "EMPLOYEE_ID") String employeeTaxCode) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "ORDERS")
+    private long orders;
+
+    @Column(name = "REVENUE")
+    private double revenue;
+
+    public DailyEmployeeSales() {}
+
+    public DailyEmployeeSales(Key id, long orders, double revenue) {
+        this.id = id;
+        this.orders = orders;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() {
+        return id.day();
+    }
+
+    public String getEmployeeTaxCode() {
+        return id.employeeTaxCode();
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+}
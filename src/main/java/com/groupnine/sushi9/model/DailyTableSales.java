@@ -0,0 +1,51 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Orders and revenue of a table in a day, kept up to date as orders are paid.
+ */
+@Entity
+@Table(name = "DAILY_TABLE_SALES")
+public class DailyTableSales {
+
+    @Embeddable
+    public record Key(@Column(name = "SALES_DAY") LocalDate day,
+                      @Column(name = "TABLE_ID") long tableId) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "ORDERS")
+    private long orders;
+
+    @Column(name = "REVENUE")
+    private double revenue;
+
+    public DailyTableSales() {}
+
+    public DailyTableSales(Key id, long orders, double revenue) {
+        this.id = id;
+        this.orders = orders;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() {
+        return id.day();
+    }
+
+    public long getTableId() {
+        return id.tableId();
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+}
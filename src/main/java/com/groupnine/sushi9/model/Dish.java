@@ -7,6 +7,8 @@ import java.util.ArrayList;
 @Entity
 public class Dish {
 
+    public static final int DEFAULT_PREP_SECONDS = 300;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,17 +20,24 @@ public class Dish {
 
     private double price;
 
+    // Porzioni disponibili: scritte solo all'inserimento e dagli update condizionali di
+    // DishRepository, mai dal salvataggio dell'entità, che sovrascriverebbe le prenotazioni
+    @Column(updatable = false)
     private int quantity;
 
-    // Relationship with Ingredients (Many-to-Many). 
+    // Postazione della cucina che prepara il piatto e tempo di preparazione;
+    // null sulle righe create prima dell'introduzione delle colonne
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATION")
+    private KitchenStation station;
+
+    @Column(name = "PREP_SECONDS")
+    private Integer prepSeconds;
+
+    // Ricetta del piatto: ingredienti e quantità per porzione, sulla tabella dish_ingredient.
     // A dish can have multiple ingredients. Multiple dishes can share the same ingredient.
-    @ManyToMany
-    @JoinTable(
-        name = "dish_ingredient",
-        joinColumns = @JoinColumn(name = "dish_id"),
-        inverseJoinColumns = @JoinColumn(name = "ingredient_id")
-    )
-    private List<Ingredient> ingredients = new ArrayList<>();
+    @OneToMany(mappedBy = "dish", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<DishIngredient> recipe = new ArrayList<>();
 
     // Direct Many-to-Many relationship with Order 
     @ManyToMany(mappedBy = "dishes")
@@ -83,12 +92,66 @@ public class Dish {
         this.quantity = quantity;
     }
 
+    public KitchenStation getStation() {
+        return station != null ? station : KitchenStation.SUSHI_BAR;
+    }
+
+    public void setStation(KitchenStation station) {
+        this.station = station;
+    }
+
+    public int getPrepSeconds() {
+        return prepSeconds != null ? prepSeconds : DEFAULT_PREP_SECONDS;
+    }
+
+    public void setPrepSeconds(int prepSeconds) {
+        this.prepSeconds = prepSeconds;
+    }
+
+    public List<Ingredient> getIngredients() {
+        List<Ingredient> ingredients = new ArrayList<>(recipe.size());
+        for (DishIngredient row : recipe) {
+            ingredients.add(row.getIngredient());
+        }
+        return ingredients;
+    }
+
+    public List<DishIngredient> getRecipe() {
+        return recipe;
+    }
+
     public void addIngredient(Ingredient ingredient) {
-    this.ingredients.add(ingredient);
-    // Ensure the bidirectional link is established
-    if (ingredient.getDishes() == null) {
-        ingredient.setDishes(new ArrayList<>());
+        addIngredient(ingredient, DishIngredient.DEFAULT_QUANTITY);
+    }
+
+    /**
+     * Adds an ingredient to the recipe, or changes its quantity per portion if already there.
+     */
+    public void addIngredient(Ingredient ingredient, double quantity) {
+        for (DishIngredient row : recipe) {
+            if (isSame(row.getIngredient(), ingredient)) {
+                row.setQuantity(quantity);
+                return;
+            }
+        }
+        recipe.add(new DishIngredient(this, ingredient, quantity));
+    }
+
+    public boolean containsIngredient(Ingredient ingredient) {
+        for (DishIngredient row : recipe) {
+            if (isSame(row.getIngredient(), ingredient)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void removeIngredient(Ingredient ingredient) {
+        recipe.removeIf(row -> isSame(row.getIngredient(), ingredient));
+    }
+
+    // Confronto per id: l'ingrediente della ricetta può essere un proxy non inizializzato
+    private static boolean isSame(Ingredient a, Ingredient b) {
+        return a == b || (a.getId() != null && a.getId().equals(b.getId()));
     }
-    ingredient.getDishes().add(this);
 }
-}
\ No newline at end of file
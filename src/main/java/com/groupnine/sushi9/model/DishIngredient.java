@@ -0,0 +1,60 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+
+/**
+ * Row of the recipe of a {@link Dish}: how much of an {@link Ingredient} one portion uses,
+ * in the unit the ingredient stock is kept in.
+ */
+@Entity
+@Table(name = "dish_ingredient", indexes = {
+        @Index(name = "IDX_DISH_INGREDIENT_INGREDIENT", columnList = "ingredient_id")
+})
+@IdClass(DishIngredient.Key.class)
+public class DishIngredient {
+
+    public static final double DEFAULT_QUANTITY = 1.0;
+
+    // Nomi e tipi dei componenti corrispondono ai campi @Id dell'entità
+    public record Key(Long dish, Long ingredient) implements Serializable { }
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dish_id")
+    private Dish dish;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ingredient_id")
+    private Ingredient ingredient;
+
+    // null sulle righe create prima dell'introduzione delle ricette
+    @Column(name = "QUANTITY")
+    private Double quantity;
+
+    public DishIngredient() {}
+
+    public DishIngredient(Dish dish, Ingredient ingredient, double quantity) {
+        this.dish = dish;
+        this.ingredient = ingredient;
+        this.quantity = quantity;
+    }
+
+    public Dish getDish() {
+        return dish;
+    }
+
+    public Ingredient getIngredient() {
+        return ingredient;
+    }
+
+    public double getQuantity() {
+        return quantity != null ? quantity : DEFAULT_QUANTITY;
+    }
+
+    public void setQuantity(double quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -1,16 +1,27 @@
 package com.groupnine.sushi9.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "IDX_EMPLOYEE_SALARY", columnList = "SALARY"),
+        @Index(name = "IDX_EMPLOYEE_JOB_TITLE", columnList = "JOB_TITLE")
+})
 public class Employee extends Person {
 
+    @Column(name = "SALARY")
     private double salary;
+
+    @Column(name = "JOB_TITLE")
     private String jobTitle;
+
     private LocalDate hireDate;
 
     public Employee() {}
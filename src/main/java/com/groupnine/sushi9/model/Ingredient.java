@@ -1,6 +1,7 @@
 package com.groupnine.sushi9.model;
 
 import jakarta.persistence.*;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -15,9 +16,22 @@ public class Ingredient {
 
     private String description;
 
-    // Many-to-Many relationship (mapped by the 'ingredients' field in Dish)
-    @ManyToMany(mappedBy = "ingredients")
-    private List<Dish> dishes;
+    // Scorta disponibile e soglia sotto cui l'ingrediente è in esaurimento,
+    // nell'unità usata dalle ricette; null sulle righe create prima dell'inventario
+    @Column(name = "STOCK")
+    private Double stock;
+
+    @Column(name = "LOW_STOCK_THRESHOLD")
+    private Double lowStockThreshold;
+
+    // Incrementato da ogni update della scorta: dice quale di due letture dello stesso
+    // ingrediente è la più recente, qualunque sia l'ordine in cui arrivano
+    @Column(name = "STOCK_VERSION")
+    private Long stockVersion;
+
+    // Righe delle ricette che usano l'ingrediente (mapped by the 'ingredient' field in DishIngredient)
+    @OneToMany(mappedBy = "ingredient")
+    private List<DishIngredient> usages = new ArrayList<>();
 
     public Ingredient() {} // Default constructor
 
@@ -46,10 +60,31 @@ public class Ingredient {
         this.description = description;
     }
     
+    public double getStock() {
+        return stock != null ? stock : 0;
+    }
+
+    public void setStock(double stock) {
+        this.stock = stock;
+    }
+
+    public double getLowStockThreshold() {
+        return lowStockThreshold != null ? lowStockThreshold : 0;
+    }
+
+    public void setLowStockThreshold(double lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    public long getStockVersion() {
+        return stockVersion != null ? stockVersion : 0;
+    }
+
     public List<Dish> getDishes() {
+        List<Dish> dishes = new ArrayList<>(usages.size());
+        for (DishIngredient usage : usages) {
+            dishes.add(usage.getDish());
+        }
         return dishes;
     }
-    public void setDishes(List<Dish> dishes) {
-        this.dishes = dishes;
-    }
-}
\ No newline at end of file
+}
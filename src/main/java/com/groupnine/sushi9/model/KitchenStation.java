@@ -0,0 +1,12 @@
+package com.groupnine.sushi9.model;
+
+/**
+ * Kitchen station that prepares a {@link Dish}, each with its own ticket queue.
+ */
+public enum KitchenStation {
+
+    SUSHI_BAR,
+    HOT_KITCHEN,
+    FRYER,
+    DESSERT
+}
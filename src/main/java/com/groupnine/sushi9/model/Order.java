@@ -5,29 +5,66 @@ import jakarta.persistence.*;
 
 
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 
 
 @Entity
+// ORDER è una parola riservata SQL.
+// ORDER_DATE è la chiave naturale per partizionare la tabella per intervalli di giorni
+@Table(name = "ORDERS", indexes = {
+		@Index(name = "IDX_ORDERS_ORDER_DATE", columnList = "ORDER_DATE"),
+		@Index(name = "IDX_ORDERS_STATE_DATE", columnList = "STATE, ORDER_DATE")
+})
 @SequenceGenerator(name = "ORDER_SEQUENCE", sequenceName = "ORDER_SEQ")
+@NamedEntityGraph(name = Order.DETAILS_GRAPH, attributeNodes = {
+		@NamedAttributeNode("dishes"),
+		@NamedAttributeNode("table"),
+		@NamedAttributeNode("employee")
+})
 public class Order {
 
+	// Piatti, tavolo e cameriere caricati nella stessa query dell'ordine
+	public static final String DETAILS_GRAPH = "Order.details";
+
 	@Id
 	@Column(name = "ORDER_ID")
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ORDER_SEQUENCE")
 	private long id_order;
 	
-	private String state;
+	@Enumerated(EnumType.STRING)
+	@Column(name = "STATE", nullable = false)
+	private OrderState state = OrderState.OPEN;
+
+	// Optimistic locking: tablet concorrenti non sovrascrivono le modifiche altrui
+	@Version
+	@Column(name = "VERSION")
+	private long version;
+
+	// Istante di creazione e giorno lavorativo corrispondente, fissati al primo salvataggio
+	@Column(name = "CREATED_AT", nullable = false, updatable = false)
+	private Instant createdAt;
+
+	@Column(name = "ORDER_DATE", nullable = false, updatable = false)
+	private LocalDate orderDate;
 	
 	@ManyToOne
 	@JoinColumn(name = "TABLE_ID")
 	private RestaurantTable table;
 
     @ManyToMany
+    @JoinTable(name = "ORDER_DISH",
+            joinColumns = @JoinColumn(name = "ORDER_ID"),
+            inverseJoinColumns = @JoinColumn(name = "DISH_ID"))
     private List<Dish> dishes;
 
     @ManyToMany
+    @JoinTable(name = "ORDER_CUSTOMER",
+            joinColumns = @JoinColumn(name = "ORDER_ID"),
+            inverseJoinColumns = @JoinColumn(name = "CUSTOMER_ID"))
     private List<Customer> customers;
 
     @ManyToOne
@@ -37,7 +74,7 @@ public class Order {
 	
 	public Order() {}
 	
-	public Order(long id, String state, RestaurantTable table) {
+	public Order(long id, OrderState state, RestaurantTable table) {
 		this.id_order = id;
 		this.state = state;
 		this.table = table;
@@ -52,9 +89,21 @@ public class Order {
 		return id_order;
 	}
 		
-	public String getstate() {
+	public OrderState getstate() {
 		return state;
 	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public LocalDate getOrderDate() {
+		return orderDate;
+	}
 	
 	public RestaurantTable getTable() {
 		return table;
@@ -76,9 +125,22 @@ public class Order {
 		this.id_order = id;
 	}
 	
-	public void setState(String state) {
+	public void setState(OrderState state) {
 		this.state = state;
 	}
+
+	// Per importare ordini storici; altrimenti viene impostato al salvataggio
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	@PrePersist
+	void stampCreation() {
+		if (createdAt == null) {
+			createdAt = Instant.now();
+		}
+		orderDate = LocalDate.ofInstant(createdAt, ZoneId.systemDefault());
+	}
 	
 	public void setTable(RestaurantTable table) {
 		this.table = table;
@@ -0,0 +1,111 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archived order in compact form: no foreign keys and no join table for the dishes,
+ * only what date-range reports need. Rows are written once and never updated.
+ */
+@Entity
+@Table(name = "ORDER_HISTORY", indexes = {
+        @Index(name = "IDX_ORDER_HISTORY_ORDER_DATE", columnList = "ORDER_DATE")
+})
+public class OrderHistory {
+
+    // Stesso id dell'ordine archiviato
+    @Id
+    @Column(name = "ORDER_ID")
+    private long id;
+
+    @Column(name = "ORDER_DATE", nullable = false)
+    private LocalDate orderDate;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "TABLE_ID")
+    private Long tableId;
+
+    @Column(name = "EMPLOYEE_ID")
+    private String employeeTaxCode;
+
+    // Id dei piatti separati da virgola, uno per porzione
+    @Column(name = "DISH_IDS", length = 2000)
+    private String dishIds;
+
+    @Column(name = "TOTAL")
+    private double total;
+
+    // Unica tabella collegata: serve a cercare i clienti per intervallo di date
+    @ElementCollection
+    @CollectionTable(name = "ORDER_HISTORY_CUSTOMER",
+            joinColumns = @JoinColumn(name = "ORDER_ID"),
+            indexes = @Index(name = "IDX_ORDER_HISTORY_CUSTOMER", columnList = "CUSTOMER_ID"))
+    @Column(name = "CUSTOMER_ID")
+    private List<String> customerTaxCodes = new ArrayList<>();
+
+    public OrderHistory() {}
+
+    public static OrderHistory of(Order order) {
+        OrderHistory history = new OrderHistory();
+        history.id = order.getId();
+        history.orderDate = order.getOrderDate();
+        history.createdAt = order.getCreatedAt();
+        history.tableId = order.getTable() != null ? order.getTable().getId() : null;
+        history.employeeTaxCode = order.getEmployee() != null ? order.getEmployee().getTaxCode() : null;
+
+        StringBuilder dishIds = new StringBuilder();
+        double total = 0;
+        for (Dish dish : order.getPlates()) {
+            if (!dishIds.isEmpty()) {
+                dishIds.append(',');
+            }
+            dishIds.append(dish.getId());
+            total += dish.getPrice();
+        }
+        history.dishIds = dishIds.toString();
+        history.total = total;
+
+        for (Customer customer : order.getClients()) {
+            history.customerTaxCodes.add(customer.getTaxCode());
+        }
+        return history;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDate getOrderDate() {
+        return orderDate;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public String getEmployeeTaxCode() {
+        return employeeTaxCode;
+    }
+
+    public String getDishIds() {
+        return dishIds;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public List<String> getCustomerTaxCodes() {
+        return customerTaxCodes;
+    }
+}
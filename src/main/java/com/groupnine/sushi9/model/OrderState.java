@@ -0,0 +1,24 @@
+package com.groupnine.sushi9.model;
+
+/**
+ * Lifecycle of an {@link Order}: open, sent to kitchen, served, paid.
+ * Transitions only move forward, one step at a time.
+ */
+public enum OrderState {
+
+    OPEN,
+    SENT_TO_KITCHEN,
+    SERVED,
+    PAID;
+
+    /**
+     * Checks whether an order in this state may move to the given one.
+     */
+    public boolean canTransitionTo(OrderState next) {
+        return next != null && next.ordinal() == ordinal() + 1;
+    }
+
+    public boolean isCompleted() {
+        return this == PAID;
+    }
+}
@@ -0,0 +1,43 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+
+/**
+ * Last outbox sequence number given to an aggregate.
+ * The row is locked while an event is recorded, so the events of one aggregate
+ * commit in sequence order; it is kept after the events are published, so the
+ * sequence keeps growing even if the aggregate is deleted and created again.
+ */
+@Entity
+@Table(name = "OUTBOX_AGGREGATE")
+public class OutboxAggregate {
+
+    @Embeddable
+    public record Key(@Column(name = "AGGREGATE_TYPE", length = 32) String aggregateType,
+                      @Column(name = "AGGREGATE_ID", length = 64) String aggregateId) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "LAST_SEQUENCE", nullable = false)
+    private long lastSequence;
+
+    public OutboxAggregate() {}
+
+    public OutboxAggregate(Key id) {
+        this.id = id;
+    }
+
+    /**
+     * Advances the sequence of the aggregate and returns the new value, starting from 1.
+     */
+    public long nextSequence() {
+        return ++lastSequence;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+}
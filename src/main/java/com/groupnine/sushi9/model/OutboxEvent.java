@@ -0,0 +1,83 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Change event written in the same transaction as the change itself and
+ * deleted once the publisher has handed it to the sink.
+ * Ids come from a pooled sequence so that batch imports keep JDBC batching, so they
+ * are not in commit order: the order of the events of an aggregate is given by
+ * the aggregate sequence, assigned under the lock of its {@link OutboxAggregate}.
+ */
+@Entity
+@Table(name = "OUTBOX_EVENT", uniqueConstraints = @UniqueConstraint(name = "UK_OUTBOX_EVENT_AGGREGATE_SEQUENCE",
+        columnNames = {"AGGREGATE_TYPE", "AGGREGATE_ID", "AGGREGATE_SEQUENCE"}))
+@SequenceGenerator(name = "OUTBOX_SEQUENCE", sequenceName = "OUTBOX_SEQ", allocationSize = 50)
+public class OutboxEvent {
+
+    @Id
+    @Column(name = "EVENT_ID")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "OUTBOX_SEQUENCE")
+    private long id;
+
+    @Column(name = "AGGREGATE_TYPE", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "AGGREGATE_ID", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(name = "AGGREGATE_SEQUENCE", nullable = false)
+    private long aggregateSequence;
+
+    @Column(name = "EVENT_TYPE", nullable = false, length = 64)
+    private String eventType;
+
+    @Lob
+    @Column(name = "PAYLOAD", nullable = false)
+    private String payload;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private Instant createdAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(String aggregateType, String aggregateId, long aggregateSequence,
+                       String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.aggregateSequence = aggregateSequence;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public long getAggregateSequence() {
+        return aggregateSequence;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A paid order not yet added to the daily sales rollups.
+ * The row is written in the paying transaction and deleted in the transaction
+ * that adds the order to the rollups, so every payment is counted exactly once,
+ * also across a crash or restart.
+ */
+@Entity
+@Table(name = "PENDING_SALE")
+public class PendingSale {
+
+    @Id
+    @Column(name = "ORDER_ID")
+    private Long orderId;
+
+    public PendingSale() {}
+
+    public PendingSale(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+}
@@ -1,10 +1,16 @@
 package com.groupnine.sushi9.model;
 
+import com.groupnine.sushi9.utils.NameNormalizer;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
-public abstract class Person {
+@Table(indexes = {
+        @Index(name = "IDX_PERSON_FIRST_NAME_NORM", columnList = "FIRST_NAME_NORMALIZED"),
+        @Index(name = "IDX_PERSON_LAST_NAME_NORM", columnList = "LAST_NAME_NORMALIZED")
+})
+public abstract class Person implements Persistable<String> {
 
     @Id
     private String taxCode;
@@ -12,6 +18,18 @@ public abstract class Person {
     private String firstName;
     private String lastName;
 
+    // Copie normalizzate (minuscolo, senza accenti) indicizzate per la ricerca per prefisso
+    @Column(name = "FIRST_NAME_NORMALIZED")
+    private String firstNameNormalized;
+
+    @Column(name = "LAST_NAME_NORMALIZED")
+    private String lastNameNormalized;
+
+    // Il taxCode è assegnato dall'applicazione: senza questo flag save() farebbe
+    // un merge (SELECT + INSERT) invece di un persist
+    @Transient
+    private boolean isNew = true;
+
     public Person() {}
 
     public Person(String taxCode, String firstName, String lastName) {
@@ -43,5 +61,36 @@ public abstract class Person {
     public void setLastName(String lastName) {
         this.lastName = lastName;
     }
+
+    @Override
+    public String getId() {
+        return taxCode;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getFirstNameNormalized() {
+        return firstNameNormalized;
+    }
+
+    public String getLastNameNormalized() {
+        return lastNameNormalized;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void normalizeNames() {
+        this.firstNameNormalized = NameNormalizer.normalize(firstName);
+        this.lastNameNormalized = NameNormalizer.normalize(lastName);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
 
@@ -17,8 +17,13 @@ public class RestaurantTable {
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TABLE_SEQUENCE")
 	private long id_table;
 	private int num_seats;
-	private String state;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "STATE", nullable = false)
+	private TableState state = TableState.FREE;
 	
+	// Non persistito: i clienti sono raggiungibili tramite gli ordini del tavolo
+	@Transient
 	private List<Customer> clients;
 	
 	@OneToMany(mappedBy = "table")
@@ -26,7 +31,7 @@ public class RestaurantTable {
 	
 	public RestaurantTable() {}
 	
-	public RestaurantTable(long id, int num_seats, String state) {
+	public RestaurantTable(long id, int num_seats, TableState state) {
 		this.id_table = id;
 		this.num_seats = num_seats;
 		this.state = state;
@@ -43,7 +48,7 @@ public class RestaurantTable {
 		return num_seats;
 	}
 	
-	public String getstate() {
+	public TableState getstate() {
 		return state;
 	}
 	
@@ -65,7 +70,7 @@ public class RestaurantTable {
 		this.num_seats = num_seats;
 	}
 	
-	public void setState(String state) {
+	public void setState(TableState state) {
 		this.state = state;
 	}
 	
@@ -0,0 +1,62 @@
+package com.groupnine.sushi9.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Portions of a dish held by a pending stock reservation.
+ * The row is deleted when the reservation is committed or released; rows past
+ * their expiry are given back to stock by the expiry job, also after a restart.
+ */
+@Entity
+@Table(name = "STOCK_RESERVATION", indexes = @Index(name = "IDX_STOCK_RESERVATION_EXPIRES_AT", columnList = "EXPIRES_AT"))
+public class StockReservationLine {
+
+    @Embeddable
+    public record Key(@Column(name = "RESERVATION_ID") UUID reservationId,
+                      @Column(name = "DISH_ID") long dishId) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "QUANTITY")
+    private int quantity;
+
+    @Column(name = "CREATED_AT")
+    private Instant createdAt;
+
+    @Column(name = "EXPIRES_AT")
+    private Instant expiresAt;
+
+    public StockReservationLine() {}
+
+    public StockReservationLine(Key id, int quantity, Instant createdAt, Instant expiresAt) {
+        this.id = id;
+        this.quantity = quantity;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getReservationId() {
+        return id.reservationId();
+    }
+
+    public long getDishId() {
+        return id.dishId();
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
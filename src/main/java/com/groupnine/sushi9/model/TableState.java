@@ -0,0 +1,10 @@
+package com.groupnine.sushi9.model;
+
+/**
+ * Occupancy state of a {@link RestaurantTable}.
+ */
+public enum TableState {
+
+    FREE,
+    OCCUPIED
+}
@@ -1,11 +1,16 @@
 package com.groupnine.sushi9.repositories;
 
 import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.repositories.projections.CustomerIdentity;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,24 +22,112 @@ public interface CustomerRepository extends BaseRepository<Customer, String> {
     List<Customer> findByFirstNameContainingIgnoreCase(String firstName);
     List<Customer> findByLastNameContainingIgnoreCase(String lastName);
 
+    // Proiezioni in sola lettura per liste e ricerche (nessuna entità gestita)
+    List<CustomerSummary> findSummariesByFirstNameContainingIgnoreCase(String firstName);
+    List<CustomerSummary> findSummariesByLastNameContainingIgnoreCase(String lastName);
+    List<CustomerSummary> findSummariesByTaxCodeGreaterThanOrderByTaxCodeAsc(String taxCode, Limit limit);
+
+    // Ricerca per prefisso sulle colonne normalizzate e indicizzate. Ordinamento per rilevanza:
+    // cognome esatto, nome esatto, prefisso del cognome, prefisso del nome
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.CustomerSummary(" +
+            "c.taxCode, c.firstName, c.lastName, c.email, c.phoneNumber) " +
+            "FROM Customer c " +
+            "WHERE c.lastNameNormalized LIKE :prefix ESCAPE '\\' " +
+            "OR c.firstNameNormalized LIKE :prefix ESCAPE '\\' " +
+            "ORDER BY CASE WHEN c.lastNameNormalized = :term THEN 0 " +
+            "WHEN c.firstNameNormalized = :term THEN 1 " +
+            "WHEN c.lastNameNormalized LIKE :prefix ESCAPE '\\' THEN 2 " +
+            "ELSE 3 END, c.lastNameNormalized, c.firstNameNormalized")
+    List<CustomerSummary> searchByNamePrefix(@Param("term") String term,
+                                             @Param("prefix") String prefix,
+                                             Limit limit);
+
+    // Ricerca "nome cognome" in entrambi gli ordini
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.CustomerSummary(" +
+            "c.taxCode, c.firstName, c.lastName, c.email, c.phoneNumber) " +
+            "FROM Customer c " +
+            "WHERE (c.firstNameNormalized LIKE :first ESCAPE '\\' AND c.lastNameNormalized LIKE :second ESCAPE '\\') " +
+            "OR (c.lastNameNormalized LIKE :first ESCAPE '\\' AND c.firstNameNormalized LIKE :second ESCAPE '\\') " +
+            "ORDER BY c.lastNameNormalized, c.firstNameNormalized")
+    List<CustomerSummary> searchByFullNamePrefix(@Param("first") String first,
+                                                 @Param("second") String second,
+                                                 Limit limit);
+
+    // Customer salvati prima dell'introduzione delle colonne normalizzate
+    List<Customer> findByFirstNameNormalizedIsNullAndTaxCodeGreaterThanOrderByTaxCodeAsc(String taxCode, Limit limit);
+
+    // Paginazione keyset: seek sul taxCode (chiave primaria) invece di OFFSET
+    List<Customer> findByTaxCodeGreaterThanOrderByTaxCodeAsc(String taxCode, Limit limit);
+
     @Query("SELECT DISTINCT c FROM Customer c " +
             "JOIN c.orders o " +
             "JOIN o.employee e " +
             "WHERE e.taxCode = :employeeTaxCode")
     List<Customer> findCustomersWithOrdersManagedByEmployee(@Param("employeeTaxCode") String employeeTaxCode);
 
-    @Query("SELECT DISTINCT c FROM Customer c " +
-            "JOIN c.orders o " +
-            "WHERE o.orderDate BETWEEN :startDate AND :endDate")
+    // Ordini correnti e archiviati: entrambe le sottoquery usano l'indice su ORDER_DATE
+    @Query("SELECT c FROM Customer c " +
+            "WHERE EXISTS (SELECT 1 FROM c.orders o WHERE o.orderDate BETWEEN :startDate AND :endDate) " +
+            "OR EXISTS (SELECT 1 FROM OrderHistory h JOIN h.customerTaxCodes t " +
+            "WHERE t = c.taxCode AND h.orderDate BETWEEN :startDate AND :endDate)")
     List<Customer> findCustomersWithOrdersBetweenDates(@Param("startDate") LocalDate startDate,
                                                        @Param("endDate") LocalDate endDate);
 
+    // Variante keyset per lo streaming: EXISTS evita il DISTINCT sull'intera tabella
+    @Query("SELECT c FROM Customer c " +
+            "WHERE c.taxCode > :afterTaxCode " +
+            "AND (EXISTS (SELECT 1 FROM c.orders o WHERE o.orderDate BETWEEN :startDate AND :endDate) " +
+            "OR EXISTS (SELECT 1 FROM OrderHistory h JOIN h.customerTaxCodes t " +
+            "WHERE t = c.taxCode AND h.orderDate BETWEEN :startDate AND :endDate)) " +
+            "ORDER BY c.taxCode ASC")
+    List<Customer> findCustomersWithOrdersBetweenDatesAfter(@Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate,
+                                                            @Param("afterTaxCode") String afterTaxCode,
+                                                            Limit limit);
+
     @Query("SELECT c, COUNT(o) as orderCount FROM Customer c " +
             "LEFT JOIN c.orders o " +
             "GROUP BY c " +
             "ORDER BY orderCount DESC")
     List<Object[]> findCustomersOrderByOrderCount();
 
+    // Conteggio ordini per customer, usato per ricostruire la classifica all'avvio:
+    // gli ordini archiviati in ORDER_HISTORY contano come quelli ancora in ORDERS
+    default List<OrderCount> countOrdersByCustomer() {
+        return OrderCount.sum(countCurrentOrdersByCustomer(), countArchivedOrdersByCustomer());
+    }
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.OrderCount(c.taxCode, COUNT(o)) " +
+            "FROM Customer c " +
+            "JOIN c.orders o " +
+            "GROUP BY c.taxCode")
+    List<OrderCount> countCurrentOrdersByCustomer();
+
+    // Solo i customer ancora esistenti: lo storico conserva anche i tax code dei cancellati
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.OrderCount(c.taxCode, COUNT(h)) " +
+            "FROM OrderHistory h " +
+            "JOIN h.customerTaxCodes t " +
+            "JOIN Customer c ON c.taxCode = t " +
+            "GROUP BY c.taxCode")
+    List<OrderCount> countArchivedOrdersByCustomer();
+
+
+    // Controllo di unicità in un solo round-trip: restituisce i customer che collidono
+    // su taxCode, email o telefono (un parametro null non collide mai)
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.CustomerIdentity(c.taxCode, c.email, c.phoneNumber) " +
+            "FROM Customer c " +
+            "WHERE c.taxCode = :taxCode OR c.email = :email OR c.phoneNumber = :phoneNumber")
+    List<CustomerIdentity> findConflicting(@Param("taxCode") String taxCode,
+                                           @Param("email") String email,
+                                           @Param("phoneNumber") String phoneNumber);
+
+    // Variante set-based per l'import massivo
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.CustomerIdentity(c.taxCode, c.email, c.phoneNumber) " +
+            "FROM Customer c " +
+            "WHERE c.taxCode IN :taxCodes OR c.email IN :emails OR c.phoneNumber IN :phoneNumbers")
+    List<CustomerIdentity> findConflictingIn(@Param("taxCodes") Collection<String> taxCodes,
+                                             @Param("emails") Collection<String> emails,
+                                             @Param("phoneNumbers") Collection<String> phoneNumbers);
 
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
@@ -0,0 +1,27 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.DailyDishSales;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyDishSalesRepository extends BaseRepository<DailyDishSales, DailyDishSales.Key> {
+
+    List<DailyDishSales> findByIdDayBetweenOrderByIdDayAsc(LocalDate startDate, LocalDate endDate);
+
+    // Somma il delta alla riga esistente; 0 se la riga del giorno non esiste ancora
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DailyDishSales s SET s.quantity = s.quantity + :quantity, s.revenue = s.revenue + :revenue " +
+            "WHERE s.id.day = :day AND s.id.dishId = :dishId")
+    int addTo(@Param("day") LocalDate day, @Param("dishId") long dishId,
+              @Param("quantity") long quantity, @Param("revenue") double revenue);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DailyDishSales s WHERE s.id.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+}
@@ -0,0 +1,27 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.DailyEmployeeSales;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyEmployeeSalesRepository extends BaseRepository<DailyEmployeeSales, DailyEmployeeSales.Key> {
+
+    List<DailyEmployeeSales> findByIdDayBetweenOrderByIdDayAsc(LocalDate startDate, LocalDate endDate);
+
+    // Somma il delta alla riga esistente; 0 se la riga del giorno non esiste ancora
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DailyEmployeeSales s SET s.orders = s.orders + :orders, s.revenue = s.revenue + :revenue " +
+            "WHERE s.id.day = :day AND s.id.employeeTaxCode = :employeeTaxCode")
+    int addTo(@Param("day") LocalDate day, @Param("employeeTaxCode") String employeeTaxCode,
+              @Param("orders") long orders, @Param("revenue") double revenue);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DailyEmployeeSales s WHERE s.id.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+}
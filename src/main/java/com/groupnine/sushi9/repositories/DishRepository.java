@@ -0,0 +1,43 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.repositories.projections.DishQuantity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DishRepository extends BaseRepository<Dish, Long> {
+
+    boolean existsByName(String name);
+
+    // Tutto il menu con gli ingredienti in una sola query
+    @EntityGraph(attributePaths = {"recipe", "recipe.ingredient"})
+    @Query("SELECT d FROM Dish d")
+    List<Dish> findAllWithIngredients();
+
+    @EntityGraph(attributePaths = {"recipe", "recipe.ingredient"})
+    @Query("SELECT d FROM Dish d WHERE d.id IN :ids")
+    List<Dish> findWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.DishQuantity(d.id, d.quantity) " +
+            "FROM Dish d WHERE d.id IN :ids")
+    List<DishQuantity> findQuantitiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Decremento condizionale: la riga viene aggiornata solo se le porzioni bastano,
+    // quindi due camerieri non possono prendere le stesse ultime porzioni.
+    // Senza clear: gli ordini in costruzione nella stessa transazione restano gestiti
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Dish d SET d.quantity = d.quantity - :amount " +
+            "WHERE d.id = :id AND d.quantity >= :amount")
+    int decrementQuantity(@Param("id") Long id, @Param("amount") int amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Dish d SET d.quantity = d.quantity + :amount WHERE d.id = :id")
+    int incrementQuantity(@Param("id") Long id, @Param("amount") int amount);
+}
@@ -1,11 +1,16 @@
 package com.groupnine.sushi9.repositories;
 
 import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.repositories.projections.EmployeeSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import com.groupnine.sushi9.repositories.projections.SalaryEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,12 +19,24 @@ public interface EmployeeRepository extends BaseRepository<Employee, String> {
 
     List<Employee> findByJobTitle(String jobTitle);
 
+    // Read-only projections for lists and searches (no managed entities)
+    List<EmployeeSummary> findSummariesByJobTitle(String jobTitle);
+    List<EmployeeSummary> findSummariesByTaxCodeGreaterThanOrderByTaxCodeAsc(String taxCode, Limit limit);
+
     List<Employee> findByHireDateAfter(LocalDate date);
 
     List<Employee> findBySalaryGreaterThan(double salary);
 
     Optional<Employee> findFirstByOrderBySalaryDesc();
 
+    // Only the columns needed to build the in-memory salary index
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.SalaryEntry(e.taxCode, e.salary, e.jobTitle) " +
+            "FROM Employee e")
+    List<SalaryEntry> findAllSalaries();
+
+    // Keyset pagination: seek on taxCode (primary key) instead of OFFSET
+    List<Employee> findByTaxCodeGreaterThanOrderByTaxCodeAsc(String taxCode, Limit limit);
+
 
     @Query("SELECT DISTINCT e FROM Employee e " +
             "JOIN e.managedOrders o " +
@@ -33,5 +50,28 @@ public interface EmployeeRepository extends BaseRepository<Employee, String> {
             "ORDER BY COUNT(o) DESC")
     List<Employee> findEmployeesOrderByOrderCount();
 
+    // Order count per employee, used to rebuild the leaderboard at startup:
+    // orders archived in ORDER_HISTORY count like the ones still in ORDERS
+    default List<OrderCount> countOrdersByEmployee() {
+        return OrderCount.sum(countCurrentOrdersByEmployee(), countArchivedOrdersByEmployee());
+    }
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.OrderCount(e.taxCode, COUNT(o)) " +
+            "FROM Employee e " +
+            "JOIN e.managedOrders o " +
+            "GROUP BY e.taxCode")
+    List<OrderCount> countCurrentOrdersByEmployee();
+
+    // Only employees that still exist: the history keeps the tax codes of deleted ones too
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.OrderCount(e.taxCode, COUNT(h)) " +
+            "FROM OrderHistory h " +
+            "JOIN Employee e ON e.taxCode = h.employeeTaxCode " +
+            "GROUP BY e.taxCode")
+    List<OrderCount> countArchivedOrdersByEmployee();
+
     boolean existsByTaxCode(String taxCode);
+
+    // Set-based existence check for bulk imports
+    @Query("SELECT e.taxCode FROM Employee e WHERE e.taxCode IN :taxCodes")
+    List<String> findExistingTaxCodes(@Param("taxCodes") Collection<String> taxCodes);
 }
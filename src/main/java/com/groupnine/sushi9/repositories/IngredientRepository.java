@@ -0,0 +1,53 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.Ingredient;
+import com.groupnine.sushi9.repositories.projections.IngredientStock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IngredientRepository extends BaseRepository<Ingredient, Long> {
+
+    // Scala in un solo statement tutti gli ingredienti di tutti i piatti dell'ordine,
+    // sommando le quantità delle ricette (un piatto ordinato due volte conta due volte).
+    // Gli ingredienti senza scorta (STOCK null) non sono gestiti a magazzino.
+    // Nessun limite a zero: una scorta negativa segnala un consumo superiore a quello registrato
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ingredient i SET i.stock = i.stock - " +
+            "(SELECT SUM(COALESCE(r.quantity, 1.0)) FROM Order o JOIN o.dishes d JOIN d.recipe r " +
+            "WHERE o.id_order = :orderId AND r.ingredient = i), " +
+            "i.stockVersion = COALESCE(i.stockVersion, 0L) + 1 " +
+            "WHERE i.stock IS NOT NULL AND i.id IN " +
+            "(SELECT r2.ingredient.id FROM Order o2 JOIN o2.dishes d2 JOIN d2.recipe r2 WHERE o2.id_order = :orderId)")
+    int deductForOrder(@Param("orderId") long orderId);
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.IngredientStock(" +
+            "i.id, i.name, i.stock, COALESCE(i.lowStockThreshold, 0.0), COALESCE(i.stockVersion, 0L)) FROM Ingredient i " +
+            "WHERE i.stock IS NOT NULL AND i.id IN " +
+            "(SELECT r.ingredient.id FROM Order o JOIN o.dishes d JOIN d.recipe r WHERE o.id_order = :orderId)")
+    List<IngredientStock> findStocksUsedByOrder(@Param("orderId") long orderId);
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.IngredientStock(" +
+            "i.id, i.name, i.stock, COALESCE(i.lowStockThreshold, 0.0), COALESCE(i.stockVersion, 0L)) FROM Ingredient i " +
+            "WHERE i.stock IS NOT NULL AND i.stock <= COALESCE(i.lowStockThreshold, 0.0)")
+    List<IngredientStock> findLowStock();
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.IngredientStock(" +
+            "i.id, i.name, i.stock, COALESCE(i.lowStockThreshold, 0.0), COALESCE(i.stockVersion, 0L)) FROM Ingredient i " +
+            "WHERE i.id = :id AND i.stock IS NOT NULL")
+    List<IngredientStock> findStockById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ingredient i SET i.stock = COALESCE(i.stock, 0.0) + :amount, " +
+            "i.stockVersion = COALESCE(i.stockVersion, 0L) + 1 WHERE i.id = :id")
+    int addStock(@Param("id") long id, @Param("amount") double amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ingredient i SET i.stock = :stock, i.lowStockThreshold = :threshold, " +
+            "i.stockVersion = COALESCE(i.stockVersion, 0L) + 1 WHERE i.id = :id")
+    int setStockLevel(@Param("id") long id, @Param("stock") double stock, @Param("threshold") double threshold);
+}
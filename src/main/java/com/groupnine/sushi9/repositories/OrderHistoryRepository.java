@@ -0,0 +1,15 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.OrderHistory;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderHistoryRepository extends BaseRepository<OrderHistory, Long> {
+
+    List<OrderHistory> findByOrderDateBetweenOrderByOrderDateAsc(LocalDate startDate, LocalDate endDate);
+
+    long countByOrderDateBetween(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,78 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.repositories.projections.SaleLine;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends BaseRepository<Order, Long> {
+
+    // Ordini di un customer con piatti, tavolo e cameriere in una sola query
+    @EntityGraph(Order.DETAILS_GRAPH)
+    @Query("SELECT o FROM Order o " +
+            "JOIN o.customers c " +
+            "WHERE c.taxCode = :customerTaxCode")
+    List<Order> findByCustomerWithDetails(@Param("customerTaxCode") String customerTaxCode);
+
+    // Ordini gestiti da un employee con piatti, tavolo e cameriere in una sola query
+    @EntityGraph(Order.DETAILS_GRAPH)
+    @Query("SELECT o FROM Order o " +
+            "WHERE o.employee.taxCode = :employeeTaxCode")
+    List<Order> findByEmployeeWithDetails(@Param("employeeTaxCode") String employeeTaxCode);
+
+    List<Order> findByState(OrderState state);
+
+    List<Order> findByOrderDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // Giorni con ordini chiusi da archiviare, dal più vecchio
+    @Query("SELECT DISTINCT o.orderDate FROM Order o " +
+            "WHERE o.orderDate < :cutoff AND o.state = :state " +
+            "ORDER BY o.orderDate ASC")
+    List<LocalDate> findOrderDatesBefore(@Param("cutoff") LocalDate cutoff, @Param("state") OrderState state);
+
+    // Un blocco di ordini di un giorno da archiviare. Solo gli id: con il fetch delle
+    // collezioni il limite verrebbe applicato in memoria
+    @Query("SELECT o.id_order FROM Order o WHERE o.orderDate = :day AND o.state = :state ORDER BY o.id_order ASC")
+    List<Long> findIdsByOrderDateAndState(@Param("day") LocalDate day, @Param("state") OrderState state, Limit limit);
+
+    @EntityGraph(Order.DETAILS_GRAPH)
+    @Query("SELECT o FROM Order o WHERE o.id_order IN :ids")
+    List<Order> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Una riga per piatto dell'ordine, con le chiavi dei riepiloghi di vendita
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.SaleLine(" +
+            "o.id_order, o.orderDate, t.id_table, e.taxCode, d.id, d.price) " +
+            "FROM Order o JOIN o.dishes d LEFT JOIN o.table t LEFT JOIN o.employee e " +
+            "WHERE o.id_order IN :ids")
+    List<SaleLine> findSaleLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.groupnine.sushi9.repositories.projections.SaleLine(" +
+            "o.id_order, o.orderDate, t.id_table, e.taxCode, d.id, d.price) " +
+            "FROM Order o JOIN o.dishes d LEFT JOIN o.table t LEFT JOIN o.employee e " +
+            "WHERE o.orderDate = :day AND o.state = :state")
+    List<SaleLine> findSaleLinesByOrderDateAndState(@Param("day") LocalDate day, @Param("state") OrderState state);
+
+    @Query("SELECT o.state FROM Order o WHERE o.id_order = :id")
+    Optional<OrderState> findStateById(@Param("id") long id);
+
+    // Transizione di stato come compare-and-set su una sola riga: aggiorna solo se
+    // l'ordine è ancora nello stato atteso, e incrementa la versione per invalidare
+    // le copie caricate da altri. Non svuota il contesto: chi chiama aggiorna solo l'ordine toccato
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.state = :next, o.version = o.version + 1 " +
+            "WHERE o.id_order = :id AND o.state = :expected")
+    int updateState(@Param("id") long id,
+                    @Param("expected") OrderState expected,
+                    @Param("next") OrderState next);
+}
@@ -0,0 +1,30 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends BaseRepository<OutboxEvent, Long> {
+
+    // Per ogni aggregato solo l'evento con la sequenza più bassa ancora in coda:
+    // i successivi escono nei batch seguenti, dopo che questo è stato cancellato
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.aggregateSequence = (
+                SELECT MIN(p.aggregateSequence) FROM OutboxEvent p
+                WHERE p.aggregateType = e.aggregateType AND p.aggregateId = e.aggregateId)
+            ORDER BY e.id
+            """)
+    List<OutboxEvent> findNextPerAggregate(Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
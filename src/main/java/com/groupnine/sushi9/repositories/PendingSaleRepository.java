@@ -0,0 +1,25 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.PendingSale;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PendingSaleRepository extends BaseRepository<PendingSale, Long> {
+
+    // Righe bloccate fino al commit: due flush concorrenti non sommano lo stesso ordine
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PendingSale> findByOrderByOrderIdAsc(Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PendingSale p WHERE p.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
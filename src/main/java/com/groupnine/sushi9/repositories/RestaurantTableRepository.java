@@ -0,0 +1,20 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.model.TableState;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RestaurantTableRepository extends BaseRepository<RestaurantTable, Long> {
+
+    // Cambio di stato condizionale: fallisce se il tavolo non è più nello stato atteso
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RestaurantTable t SET t.state = :next " +
+            "WHERE t.id_table = :id AND t.state = :expected")
+    int updateState(@Param("id") long id,
+                    @Param("expected") TableState expected,
+                    @Param("next") TableState next);
+}
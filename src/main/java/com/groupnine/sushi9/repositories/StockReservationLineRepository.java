@@ -0,0 +1,26 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.StockReservationLine;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationLineRepository extends BaseRepository<StockReservationLine, StockReservationLine.Key> {
+
+    List<StockReservationLine> findByIdReservationId(UUID reservationId);
+
+    // Il numero di righe cancellate dice chi ha chiuso la prenotazione: 0 se qualcun altro l'ha già fatto
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StockReservationLine r WHERE r.id.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") UUID reservationId);
+
+    @Query("SELECT DISTINCT r.id.reservationId FROM StockReservationLine r WHERE r.expiresAt < :now")
+    List<UUID> findExpiredReservationIds(@Param("now") Instant now, Limit limit);
+}
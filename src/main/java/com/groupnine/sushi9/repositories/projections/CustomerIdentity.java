@@ -0,0 +1,11 @@
+package com.groupnine.sushi9.repositories.projections;
+
+/**
+ * The unique keys of a customer, as returned by the uniqueness probe.
+ *
+ * @param taxCode     the tax code (primary key)
+ * @param email       the email (unique)
+ * @param phoneNumber the phone number (unique, nullable)
+ */
+public record CustomerIdentity(String taxCode, String email, String phoneNumber) {
+}
@@ -0,0 +1,16 @@
+package com.groupnine.sushi9.repositories.projections;
+
+/**
+ * Read-only view of a customer for list and search results.
+ * Built directly by the query, so it is never attached to the persistence context
+ * and carries none of the customer's orders.
+ *
+ * @param taxCode     the tax code
+ * @param firstName   the first name
+ * @param lastName    the last name
+ * @param email       the email
+ * @param phoneNumber the phone number, may be null
+ */
+public record CustomerSummary(String taxCode, String firstName, String lastName,
+                              String email, String phoneNumber) {
+}
@@ -0,0 +1,10 @@
+package com.groupnine.sushi9.repositories.projections;
+
+/**
+ * Portions in stock of a dish.
+ *
+ * @param id       the dish id
+ * @param quantity the portions in stock
+ */
+public record DishQuantity(Long id, Integer quantity) {
+}
@@ -0,0 +1,18 @@
+package com.groupnine.sushi9.repositories.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of an employee for list and search results.
+ * Built directly by the query, so it is never attached to the persistence context
+ * and carries none of the employee's managed orders.
+ *
+ * @param taxCode   the tax code
+ * @param firstName the first name
+ * @param lastName  the last name
+ * @param jobTitle  the job title
+ * @param hireDate  the hire date
+ */
+public record EmployeeSummary(String taxCode, String firstName, String lastName,
+                              String jobTitle, LocalDate hireDate) {
+}
@@ -0,0 +1,25 @@
+package com.groupnine.sushi9.repositories.projections;
+
+/**
+ * Stock level of an ingredient.
+ *
+ * @param id                the ingredient id
+ * @param name              the ingredient name
+ * @param stock             the quantity in stock
+ * @param lowStockThreshold the quantity at or below which the ingredient is running out
+ * @param version           the stock version the level was read at, increased by every stock update
+ */
+public record IngredientStock(Long id, String name, Double stock, Double lowStockThreshold, Long version) {
+
+    public boolean isLow() {
+        return stock <= lowStockThreshold;
+    }
+
+    /**
+     * True when more has been used than was in stock: the recorded stock is wrong
+     * and needs a count, not just a restock.
+     */
+    public boolean isOverdrawn() {
+        return stock < 0;
+    }
+}
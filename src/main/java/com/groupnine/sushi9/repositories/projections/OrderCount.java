@@ -0,0 +1,32 @@
+package com.groupnine.sushi9.repositories.projections;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of orders associated with a person (placed by a customer or managed by an employee).
+ *
+ * @param taxCode    the tax code of the person
+ * @param orderCount the number of orders
+ */
+public record OrderCount(String taxCode, Long orderCount) {
+
+    /**
+     * Adds up the counts of the same person from two sources, e.g. current and archived orders.
+     */
+    public static List<OrderCount> sum(List<OrderCount> first, List<OrderCount> second) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (OrderCount count : first) {
+            totals.merge(count.taxCode(), count.orderCount(), Long::sum);
+        }
+        for (OrderCount count : second) {
+            totals.merge(count.taxCode(), count.orderCount(), Long::sum);
+        }
+
+        List<OrderCount> sum = new ArrayList<>(totals.size());
+        totals.forEach((taxCode, orderCount) -> sum.add(new OrderCount(taxCode, orderCount)));
+        return sum;
+    }
+}
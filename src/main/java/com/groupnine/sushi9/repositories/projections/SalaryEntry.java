@@ -0,0 +1,11 @@
+package com.groupnine.sushi9.repositories.projections;
+
+/**
+ * Salary and job title of an employee, the only columns needed by the salary analytics.
+ *
+ * @param taxCode  the tax code
+ * @param salary   the salary
+ * @param jobTitle the job title, may be null
+ */
+public record SalaryEntry(String taxCode, Double salary, String jobTitle) {
+}
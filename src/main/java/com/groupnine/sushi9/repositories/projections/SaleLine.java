@@ -0,0 +1,16 @@
+package com.groupnine.sushi9.repositories.projections;
+
+import java.time.LocalDate;
+
+/**
+ * One portion of a paid order, with everything the sales rollups are keyed on.
+ *
+ * @param orderId         the order id
+ * @param day             the order date
+ * @param tableId         the table id, may be null
+ * @param employeeTaxCode the tax code of the managing employee, may be null
+ * @param dishId          the dish id
+ * @param price           the price of the dish
+ */
+public record SaleLine(Long orderId, LocalDate day, Long tableId, String employeeTaxCode, Long dishId, Double price) {
+}
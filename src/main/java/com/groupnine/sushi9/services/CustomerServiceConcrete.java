@@ -1,18 +1,48 @@
 package com.groupnine.sushi9.services;
 
+import com.groupnine.sushi9.config.CacheConfig;
+import com.groupnine.sushi9.config.LeaderboardConfig;
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.CustomerDto;
 import com.groupnine.sushi9.model.Customer;
 import com.groupnine.sushi9.model.Order;
 import com.groupnine.sushi9.repositories.CustomerRepository;
+import com.groupnine.sushi9.repositories.OrderRepository;
+import com.groupnine.sushi9.repositories.projections.CustomerIdentity;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
 import com.groupnine.sushi9.services.interfaces.CustomerService;
+import com.groupnine.sushi9.services.interfaces.OutboxService;
+import com.groupnine.sushi9.services.support.EntityCache;
+import com.groupnine.sushi9.services.support.OrderCountLeaderboard;
+import com.groupnine.sushi9.services.support.PersonValidator;
+import com.groupnine.sushi9.services.support.ValidationResult;
 import com.groupnine.sushi9.utils.Constants;
+import com.groupnine.sushi9.utils.KeysetStreams;
+import com.groupnine.sushi9.utils.NameNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Concrete implementation of the {@link CustomerService} interface.
@@ -22,76 +52,154 @@ import java.util.regex.Pattern;
 @Transactional
 public class CustomerServiceConcrete implements CustomerService {
 
+    // La chiave primaria di PERSON ha un nome generato da H2 (PRIMARY_KEY_xx):
+    // la si riconosce dall'indice e dalla colonna
+    private static final String PRIMARY_KEY_INDEX = "PRIMARY_KEY";
+    private static final String PERSON_PRIMARY_KEY = "PERSON(TAX_CODE)";
+
     @Autowired
     private CustomerRepository customerRepository;
 
-    // Patterns per validazione
-    private static final Pattern TAXCODE_PATTERN = Pattern.compile(Constants.TAXCODE_PATTERN);
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(Constants.EMAIL_PATTERN);
-    private static final Pattern PHONE_PATTERN = Pattern.compile(Constants.PHONE_PATTERN);
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityCache<CustomerDto> customerCache;
+
+    @Autowired
+    @Qualifier(LeaderboardConfig.CUSTOMER_LEADERBOARD)
+    private OrderCountLeaderboard customerLeaderboard;
+
+    @Autowired
+    private PersonValidator personValidator;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Righe per transazione nell'import massivo; Hibernate le invia in batch JDBC
+    // da hibernate.jdbc.batch_size, quindi un blocco corrisponde a più batch
+    @Value("${sushi9.batch.size:500}")
+    private int batchSize;
 
     protected CustomerServiceConcrete() { }
 
     @Override
     public Customer createCustomer(Customer customer) throws IllegalArgumentException {
-        // Validazione base
-        if (customer == null) {
-            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        ValidationResult validation = validateNewCustomer(customer);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException(validation.message());
         }
 
-        // Validazione taxCode
-        if (customer.getTaxCode() == null || customer.getTaxCode().isEmpty()) {
-            throw new IllegalArgumentException("Tax code cannot be null or empty");
-        }
+        // Controllo duplicati: una sola query per taxCode, email e telefono
+        List<CustomerIdentity> conflicts = customerRepository.findConflicting(
+                customer.getTaxCode(), customer.getEmail(), customer.getPhoneNumber());
 
-        if (!TAXCODE_PATTERN.matcher(customer.getTaxCode()).matches()) {
-            throw new IllegalArgumentException("Invalid tax code format");
+        for (CustomerIdentity conflict : conflicts) {
+            if (customer.getTaxCode().equals(conflict.taxCode())) {
+                throw new IllegalArgumentException(Constants.CUSTOMER_ALREADY_EXISTS + customer.getTaxCode());
+            }
         }
-
-        // Validazione email
-        if (customer.getEmail() == null || customer.getEmail().isEmpty()) {
-            throw new IllegalArgumentException("Email cannot be null or empty");
+        for (CustomerIdentity conflict : conflicts) {
+            if (customer.getEmail().equals(conflict.email())) {
+                throw new IllegalArgumentException("Customer with email " + customer.getEmail() + " already exists");
+            }
         }
-
-        if (!EMAIL_PATTERN.matcher(customer.getEmail()).matches()) {
-            throw new IllegalArgumentException(Constants.INVALID_EMAIL);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("Customer with phone number " + customer.getPhoneNumber() + " already exists");
         }
 
-        // Validazione telefono (opzionale ma se presente deve essere valido)
-        if (customer.getPhoneNumber() != null && !customer.getPhoneNumber().isEmpty() &&
-                !PHONE_PATTERN.matcher(customer.getPhoneNumber()).matches()) {
-            throw new IllegalArgumentException(Constants.INVALID_PHONE);
+        // Il controllo sopra non basta con inserimenti concorrenti: i vincoli unici
+        // nel database sono la garanzia finale
+        try {
+            Customer saved = customerRepository.saveAndFlush(customer);
+            outboxService.record(OutboxService.CUSTOMER, saved.getTaxCode(), "customer.created", CustomerDto.from(saved));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e,
+                    Constants.CUSTOMER_ALREADY_EXISTS + customer.getTaxCode(),
+                    "Customer with email " + customer.getEmail() + " already exists",
+                    "Customer with phone number " + customer.getPhoneNumber() + " already exists");
         }
+    }
 
-        // Controllo duplicati
-        if (customerRepository.existsById(customer.getTaxCode())) {
-            throw new IllegalArgumentException(Constants.CUSTOMER_ALREADY_EXISTS + customer.getTaxCode());
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResult createCustomers(Collection<Customer> customers) throws IllegalArgumentException {
+        if (customers == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
         }
 
-        if (customerRepository.existsByEmail(customer.getEmail())) {
-            throw new IllegalArgumentException("Customer with email " + customer.getEmail() + " already exists");
+        List<BatchResult.Reject> rejects = new ArrayList<>();
+        Set<String> batchTaxCodes = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchPhones = new HashSet<>();
+
+        List<Customer> chunk = new ArrayList<>(batchSize);
+        List<Integer> chunkRows = new ArrayList<>(batchSize);
+        int row = 0;
+        int imported = 0;
+
+        for (Customer customer : customers) {
+            String error = validateNewCustomer(customer).message();
+
+            // Duplicati all'interno dello stesso batch
+            if (error == null) {
+                if (batchTaxCodes.contains(customer.getTaxCode())) {
+                    error = Constants.DUPLICATE_IN_BATCH + customer.getTaxCode();
+                } else if (batchEmails.contains(customer.getEmail())) {
+                    error = Constants.DUPLICATE_IN_BATCH + customer.getEmail();
+                } else if (customer.getPhoneNumber() != null && batchPhones.contains(customer.getPhoneNumber())) {
+                    error = Constants.DUPLICATE_IN_BATCH + customer.getPhoneNumber();
+                }
+            }
+
+            if (error != null) {
+                rejects.add(new BatchResult.Reject(row, customer != null ? customer.getTaxCode() : null, error));
+            } else {
+                batchTaxCodes.add(customer.getTaxCode());
+                batchEmails.add(customer.getEmail());
+                if (customer.getPhoneNumber() != null) {
+                    batchPhones.add(customer.getPhoneNumber());
+                }
+                chunk.add(customer);
+                chunkRows.add(row);
+            }
+            row++;
+
+            if (chunk.size() == batchSize) {
+                imported += importCustomerChunk(chunk, chunkRows, rejects);
+                chunk.clear();
+                chunkRows.clear();
+            }
         }
 
-        if (customer.getPhoneNumber() != null && !customer.getPhoneNumber().isEmpty() &&
-                customerRepository.existsByPhoneNumber(customer.getPhoneNumber())) {
-            throw new IllegalArgumentException("Customer with phone number " + customer.getPhoneNumber() + " already exists");
+        if (!chunk.isEmpty()) {
+            imported += importCustomerChunk(chunk, chunkRows, rejects);
         }
 
-        return customerRepository.save(customer);
+        rejects.sort(Comparator.comparingInt(BatchResult.Reject::row));
+        return new BatchResult(row, imported, rejects);
     }
 
     @Override
-    public Customer getCustomerById(String taxCode) throws IllegalArgumentException {
+    public CustomerDto getCustomerById(String taxCode) throws IllegalArgumentException {
         if (taxCode == null || taxCode.isEmpty()) {
             throw new IllegalArgumentException("Tax code cannot be null or empty");
         }
 
-        Optional<Customer> customer = customerRepository.findById(taxCode);
-        if (customer.isEmpty()) {
-            throw new IllegalArgumentException(Constants.NO_CUSTOMER_WITH_TAXCODE + taxCode);
+        CustomerDto cached = customerCache.get(taxCode);
+        if (cached != null) {
+            return cached;
         }
 
-        return customer.get();
+        // Token preso prima della lettura: se nel frattempo il cliente cambia, la put viene scartata
+        long token = customerCache.readToken();
+        CustomerDto customer = CustomerDto.from(loadCustomer(taxCode));
+        customerCache.put(customer, token);
+        return customer;
     }
 
     @Override
@@ -99,6 +207,29 @@ public class CustomerServiceConcrete implements CustomerService {
         return customerRepository.findAll();
     }
 
+    @Override
+    public List<Customer> getCustomersPage(String afterTaxCode, int pageSize) throws IllegalArgumentException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        // La stringa vuota precede qualsiasi taxCode valido
+        String key = afterTaxCode != null ? afterTaxCode : "";
+        return customerRepository.findByTaxCodeGreaterThanOrderByTaxCodeAsc(key, Limit.of(pageSize));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Stream<Customer> streamAllCustomers(int pageSize) throws IllegalArgumentException {
+        // Qui si costruisce solo lo stream: le pagine sono lette mentre viene consumato,
+        // ciascuna in una transazione propria o in quella del chiamante
+        return KeysetStreams.stream(transactionManager,
+                (String after, Integer size) -> customerRepository.findByTaxCodeGreaterThanOrderByTaxCodeAsc(
+                        after != null ? after : "", Limit.of(size)),
+                Customer::getTaxCode,
+                pageSize);
+    }
+
     @Override
     public Customer updateCustomer(String taxCode, Customer customerDetails) throws IllegalArgumentException {
         if (taxCode == null || taxCode.isEmpty()) {
@@ -109,8 +240,8 @@ public class CustomerServiceConcrete implements CustomerService {
             throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
         }
 
-        // Recupera customer esistente
-        Customer existingCustomer = getCustomerById(taxCode);
+        // Recupera customer esistente (sempre dal database, non dalla cache)
+        Customer existingCustomer = loadCustomer(taxCode);
 
         // Non permettere cambio di taxCode
         if (!taxCode.equals(customerDetails.getTaxCode())) {
@@ -118,26 +249,37 @@ public class CustomerServiceConcrete implements CustomerService {
         }
 
         // Validazione email se è cambiata
+        String newEmail = null;
         if (!existingCustomer.getEmail().equals(customerDetails.getEmail())) {
-            if (!EMAIL_PATTERN.matcher(customerDetails.getEmail()).matches()) {
+            if (!personValidator.isValidEmail(customerDetails.getEmail())) {
                 throw new IllegalArgumentException(Constants.INVALID_EMAIL);
             }
-            if (customerRepository.existsByEmail(customerDetails.getEmail())) {
-                throw new IllegalArgumentException("Email " + customerDetails.getEmail() + " is already in use");
-            }
+            newEmail = customerDetails.getEmail();
         }
 
         // Validazione telefono se è cambiato
+        String newPhone = null;
         if (customerDetails.getPhoneNumber() != null &&
                 !customerDetails.getPhoneNumber().isEmpty() &&
                 (existingCustomer.getPhoneNumber() == null ||
                         !existingCustomer.getPhoneNumber().equals(customerDetails.getPhoneNumber()))) {
 
-            if (!PHONE_PATTERN.matcher(customerDetails.getPhoneNumber()).matches()) {
+            if (!personValidator.isValidPhone(customerDetails.getPhoneNumber())) {
                 throw new IllegalArgumentException(Constants.INVALID_PHONE);
             }
-            if (customerRepository.existsByPhoneNumber(customerDetails.getPhoneNumber())) {
-                throw new IllegalArgumentException("Phone number " + customerDetails.getPhoneNumber() + " is already in use");
+            newPhone = customerDetails.getPhoneNumber();
+        }
+
+        // Controllo duplicati sui soli campi cambiati, in una sola query
+        if (newEmail != null || newPhone != null) {
+            List<CustomerIdentity> conflicts = customerRepository.findConflicting(null, newEmail, newPhone);
+            for (CustomerIdentity conflict : conflicts) {
+                if (newEmail != null && newEmail.equals(conflict.email())) {
+                    throw new IllegalArgumentException("Email " + newEmail + " is already in use");
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                throw new IllegalArgumentException("Phone number " + newPhone + " is already in use");
             }
         }
 
@@ -145,9 +287,19 @@ public class CustomerServiceConcrete implements CustomerService {
         existingCustomer.setFirstName(customerDetails.getFirstName());
         existingCustomer.setLastName(customerDetails.getLastName());
         existingCustomer.setEmail(customerDetails.getEmail());
-        existingCustomer.setPhoneNumber(customerDetails.getPhoneNumber());
-
-        return customerRepository.save(existingCustomer);
+        existingCustomer.setPhoneNumber(customerDetails.getPhoneNumber() != null && customerDetails.getPhoneNumber().isEmpty()
+                ? null : customerDetails.getPhoneNumber());
+
+        customerCache.invalidateOnCompletion(taxCode);
+        try {
+            Customer saved = customerRepository.saveAndFlush(existingCustomer);
+            outboxService.record(OutboxService.CUSTOMER, taxCode, "customer.updated", CustomerDto.from(saved));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e, null,
+                    "Email " + existingCustomer.getEmail() + " is already in use",
+                    "Phone number " + existingCustomer.getPhoneNumber() + " is already in use");
+        }
     }
 
     @Override
@@ -156,7 +308,7 @@ public class CustomerServiceConcrete implements CustomerService {
             throw new IllegalArgumentException("Tax code cannot be null or empty");
         }
 
-        Customer customer = getCustomerById(taxCode);
+        Customer customer = loadCustomer(taxCode);
 
         // Controlla se il customer ha ordini
         if (customer.getOrders() != null && !customer.getOrders().isEmpty()) {
@@ -170,44 +322,66 @@ public class CustomerServiceConcrete implements CustomerService {
             // customer.getOrders().clear();
         }
 
+        customerCache.invalidateOnCompletion(taxCode);
         customerRepository.delete(customer);
+        outboxService.record(OutboxService.CUSTOMER, taxCode, "customer.deleted", Map.of("taxCode", taxCode));
     }
 
     @Override
-    public Customer findByEmail(String email) throws IllegalArgumentException {
+    public CustomerDto findByEmail(String email) throws IllegalArgumentException {
         if (email == null || email.isEmpty()) {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
 
+        CustomerDto cached = customerCache.getByIndex(CacheConfig.EMAIL_INDEX, email);
+        if (cached != null) {
+            return cached;
+        }
+
+        long token = customerCache.readToken();
         Customer customer = customerRepository.findByEmail(email);
         if (customer == null) {
             throw new IllegalArgumentException("No customer found with email: " + email);
         }
 
-        return customer;
+        CustomerDto snapshot = CustomerDto.from(customer);
+        customerCache.put(snapshot, token);
+        return snapshot;
     }
 
     @Override
-    public Customer findByPhoneNumber(String phoneNumber) throws IllegalArgumentException {
+    public CustomerDto findByPhoneNumber(String phoneNumber) throws IllegalArgumentException {
         if (phoneNumber == null || phoneNumber.isEmpty()) {
             throw new IllegalArgumentException("Phone number cannot be null or empty");
         }
 
+        CustomerDto cached = customerCache.getByIndex(CacheConfig.PHONE_INDEX, phoneNumber);
+        if (cached != null) {
+            return cached;
+        }
+
+        long token = customerCache.readToken();
         Customer customer = customerRepository.findByPhoneNumber(phoneNumber);
         if (customer == null) {
             throw new IllegalArgumentException("No customer found with phone number: " + phoneNumber);
         }
 
-        return customer;
+        CustomerDto snapshot = CustomerDto.from(customer);
+        customerCache.put(snapshot, token);
+        return snapshot;
     }
 
     @Override
     public List<Order> getCustomerOrders(String taxCode) throws IllegalArgumentException {
-        Customer customer = getCustomerById(taxCode);
-        return customer.getOrders() != null ? customer.getOrders() : List.of();
+        // Verifica che il customer esista (dalla cache se possibile)
+        getCustomerById(taxCode);
+
+        // Una query con fetch join invece di caricare gli ordini (e i loro piatti) uno per uno
+        return orderRepository.findByCustomerWithDetails(taxCode);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Customer> findCustomersWithOrdersManagedByEmployee(String employeeTaxCode) throws IllegalArgumentException {
         if (employeeTaxCode == null || employeeTaxCode.isEmpty()) {
             throw new IllegalArgumentException("Employee tax code cannot be null or empty");
@@ -235,6 +409,85 @@ public class CustomerServiceConcrete implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummariesByFirstName(String firstName) throws IllegalArgumentException {
+        if (firstName == null || firstName.isEmpty()) {
+            throw new IllegalArgumentException("First name cannot be null or empty");
+        }
+
+        return customerRepository.findSummariesByFirstNameContainingIgnoreCase(firstName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummariesByLastName(String lastName) throws IllegalArgumentException {
+        if (lastName == null || lastName.isEmpty()) {
+            throw new IllegalArgumentException("Last name cannot be null or empty");
+        }
+
+        return customerRepository.findSummariesByLastNameContainingIgnoreCase(lastName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> searchByName(String query, int limit) throws IllegalArgumentException {
+        String term = NameNormalizer.normalize(query);
+        if (term == null || term.isEmpty()) {
+            throw new IllegalArgumentException("Search text cannot be null or empty");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+        Limit max = Limit.of(Math.min(limit, Constants.MAX_SEARCH_LIMIT));
+
+        // "mario ros" -> prefisso del nome e del cognome
+        int space = term.indexOf(' ');
+        if (space > 0) {
+            String first = NameNormalizer.escapeLike(term.substring(0, space)) + "%";
+            String second = NameNormalizer.escapeLike(term.substring(space + 1).trim()) + "%";
+            return customerRepository.searchByFullNamePrefix(first, second, max);
+        }
+
+        return customerRepository.searchByNamePrefix(term, NameNormalizer.escapeLike(term) + "%", max);
+    }
+
+    // Popola le colonne normalizzate dei customer salvati prima della loro introduzione.
+    // Ogni blocco è una transazione breve: con milioni di righe una sola transazione
+    // all'avvio terrebbe i lock e il contesto di persistenza per tutto il backfill
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillNormalizedNames() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        String after = "";
+        while (after != null) {
+            String from = after;
+            after = transaction.execute(status -> backfillChunk(from));
+        }
+    }
+
+    // Normalizza un blocco e restituisce l'ultimo taxCode, o null se il blocco era l'ultimo
+    private String backfillChunk(String after) {
+        List<Customer> page = customerRepository.findByFirstNameNormalizedIsNullAndTaxCodeGreaterThanOrderByTaxCodeAsc(
+                after, Limit.of(batchSize));
+        for (Customer customer : page) {
+            customer.normalizeNames();
+        }
+        return page.size() == batchSize ? page.getLast().getTaxCode() : null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> getCustomerSummariesPage(String afterTaxCode, int pageSize) throws IllegalArgumentException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        String key = afterTaxCode != null ? afterTaxCode : "";
+        return customerRepository.findSummariesByTaxCodeGreaterThanOrderByTaxCodeAsc(key, Limit.of(pageSize));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Customer> findCustomersWithOrdersBetweenDates(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("Dates cannot be null");
@@ -247,6 +500,25 @@ public class CustomerServiceConcrete implements CustomerService {
         return customerRepository.findCustomersWithOrdersBetweenDates(startDate, endDate);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Stream<Customer> streamCustomersWithOrdersBetweenDates(LocalDate startDate, LocalDate endDate,
+                                                                  int pageSize) throws IllegalArgumentException {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        return KeysetStreams.stream(transactionManager,
+                (String after, Integer size) -> customerRepository.findCustomersWithOrdersBetweenDatesAfter(
+                        startDate, endDate, after != null ? after : "", Limit.of(size)),
+                Customer::getTaxCode,
+                pageSize);
+    }
+
     @Override
     public boolean existsById(String taxCode) {
         return customerRepository.existsById(taxCode);
@@ -258,19 +530,164 @@ public class CustomerServiceConcrete implements CustomerService {
     }
 
     @Override
-    public Customer findCustomerWithMostOrders() {
-        List<Object[]> results = customerRepository.findCustomersOrderByOrderCount();
+    public CustomerDto findCustomerWithMostOrders() {
+        // Classifica mantenuta in memoria invece di raggruppare e ordinare tutti i customer
+        OrderCount top = customerLeaderboard.top();
+        if (top != null) {
+            return getCustomerById(top.taxCode());
+        }
 
-        if (results.isEmpty()) {
+        // Nessun ordine: come la query originale, va bene un customer qualsiasi
+        List<Customer> any = customerRepository.findByTaxCodeGreaterThanOrderByTaxCodeAsc("", Limit.of(1));
+        if (any.isEmpty()) {
             throw new IllegalArgumentException("No customers found");
         }
 
-        return (Customer) results.get(0)[0];
+        return CustomerDto.from(any.get(0));
+    }
+
+    @Override
+    public List<OrderCount> findTopCustomersByOrderCount(int k) throws IllegalArgumentException {
+        if (k <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        return customerLeaderboard.top(k);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildLeaderboard() {
+        customerLeaderboard.rebuild(customerRepository::countOrdersByCustomer);
     }
 
     // Metodo helper per verificare se un customer ha ordini
     public boolean hasOrders(String taxCode) {
-        Customer customer = getCustomerById(taxCode);
+        Customer customer = loadCustomer(taxCode);
         return customer.getOrders() != null && !customer.getOrders().isEmpty();
     }
-}
\ No newline at end of file
+
+    // Valida un nuovo customer senza eccezioni: il risultato porta il messaggio di errore.
+    // Normalizza il telefono vuoto a null, altrimenti collide con il vincolo di unicità
+    private ValidationResult validateNewCustomer(Customer customer) {
+        if (customer != null && customer.getPhoneNumber() != null && customer.getPhoneNumber().isEmpty()) {
+            customer.setPhoneNumber(null);
+        }
+        return personValidator.validate(customer);
+    }
+
+    // Ogni blocco ha la sua transazione: un errore annulla solo quel blocco, che viene
+    // ripetuto riga per riga (una transazione ciascuna) per scartare solo le righe in conflitto
+    private int importCustomerChunk(List<Customer> chunk, List<Integer> rows, List<BatchResult.Reject> rejects) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<BatchResult.Reject> chunkRejects = new ArrayList<>();
+        try {
+            Integer saved = transaction.execute(status -> persistCustomerChunk(chunk, rows, chunkRejects));
+            rejects.addAll(chunkRejects);
+            return saved != null ? saved : 0;
+        } catch (DataIntegrityViolationException e) {
+            int saved = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                Customer customer = chunk.get(i);
+                try {
+                    transaction.executeWithoutResult(status -> createCustomer(customer));
+                    saved++;
+                } catch (IllegalArgumentException rowError) {
+                    rejects.add(new BatchResult.Reject(rows.get(i), customer.getTaxCode(), rowError.getMessage()));
+                }
+            }
+            return saved;
+        }
+    }
+
+    // Controlla i duplicati di un blocco con una sola query e salva i customer rimanenti.
+    // Il persistence context è quello della transazione del blocco e si chiude con essa
+    private int persistCustomerChunk(List<Customer> chunk, List<Integer> rows, List<BatchResult.Reject> rejects) {
+        Set<String> taxCodes = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (Customer customer : chunk) {
+            taxCodes.add(customer.getTaxCode());
+            emails.add(customer.getEmail());
+            if (customer.getPhoneNumber() != null) {
+                phones.add(customer.getPhoneNumber());
+            }
+        }
+        if (phones.isEmpty()) {
+            // IN () non è portabile; nessun telefono salvato è vuoto
+            phones.add("");
+        }
+
+        Set<String> takenTaxCodes = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        for (CustomerIdentity conflict : customerRepository.findConflictingIn(taxCodes, emails, phones)) {
+            takenTaxCodes.add(conflict.taxCode());
+            takenEmails.add(conflict.email());
+            if (conflict.phoneNumber() != null) {
+                takenPhones.add(conflict.phoneNumber());
+            }
+        }
+
+        List<Customer> toSave = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Customer customer = chunk.get(i);
+            String error = null;
+            if (takenTaxCodes.contains(customer.getTaxCode())) {
+                error = Constants.CUSTOMER_ALREADY_EXISTS + customer.getTaxCode();
+            } else if (takenEmails.contains(customer.getEmail())) {
+                error = "Customer with email " + customer.getEmail() + " already exists";
+            } else if (customer.getPhoneNumber() != null && takenPhones.contains(customer.getPhoneNumber())) {
+                error = "Customer with phone number " + customer.getPhoneNumber() + " already exists";
+            }
+
+            if (error != null) {
+                rejects.add(new BatchResult.Reject(rows.get(i), customer.getTaxCode(), error));
+            } else {
+                toSave.add(customer);
+            }
+        }
+
+        customerRepository.saveAll(toSave);
+        for (Customer customer : toSave) {
+            outboxService.record(OutboxService.CUSTOMER, customer.getTaxCode(), "customer.created", CustomerDto.from(customer));
+        }
+        // Flush dal repository: le violazioni dei vincoli arrivano come DataIntegrityViolationException
+        customerRepository.flush();
+        return toSave.size();
+    }
+
+    // Traduce la violazione di un vincolo unico nel messaggio corrispondente; le altre
+    // violazioni passano invariate. taxCodeMessage è null quando la chiave primaria
+    // non può collidere (update)
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException e,
+                                                          String taxCodeMessage, String emailMessage,
+                                                          String phoneMessage) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase();
+
+        if (cause.contains(Customer.EMAIL_CONSTRAINT)) {
+            return new IllegalArgumentException(emailMessage, e);
+        }
+        if (cause.contains(Customer.PHONE_CONSTRAINT)) {
+            return new IllegalArgumentException(phoneMessage, e);
+        }
+        if (taxCodeMessage != null && cause.contains(PRIMARY_KEY_INDEX) && cause.contains(PERSON_PRIMARY_KEY)) {
+            return new IllegalArgumentException(taxCodeMessage, e);
+        }
+        return e;
+    }
+
+    // Carica il customer dal database: usato dove serve l'entità gestita (ordini lazy, modifiche)
+    private Customer loadCustomer(String taxCode) {
+        if (taxCode == null || taxCode.isEmpty()) {
+            throw new IllegalArgumentException("Tax code cannot be null or empty");
+        }
+
+        Optional<Customer> customer = customerRepository.findById(taxCode);
+        if (customer.isEmpty()) {
+            throw new IllegalArgumentException(Constants.NO_CUSTOMER_WITH_TAXCODE + taxCode);
+        }
+
+        return customer.get();
+    }
+}
@@ -0,0 +1,186 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.StockReservation;
+import com.groupnine.sushi9.model.StockReservationLine;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.StockReservationLineRepository;
+import com.groupnine.sushi9.services.interfaces.DishStockService;
+import com.groupnine.sushi9.services.interfaces.MenuService;
+import com.groupnine.sushi9.utils.Constants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Concrete implementation of the {@link DishStockService} interface.
+ * Stock is decremented with conditional single-row updates, so contention is
+ * limited to orders that want the same dish. Pending reservations are stored in
+ * STOCK_RESERVATION in the same transaction as the decrement, so they survive a
+ * restart and expire from the database until they are committed or released.
+ */
+@Service
+@Transactional
+public class DishStockServiceConcrete implements DishStockService {
+
+    // Prenotazioni scadute lette per ogni giro del job
+    private static final int EXPIRED_PAGE_SIZE = 100;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private StockReservationLineRepository reservationRepository;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sushi9.stock.reservation-ttl-seconds:900}")
+    private long reservationTtlSeconds;
+
+    protected DishStockServiceConcrete() { }
+
+    @Override
+    public StockReservation reserve(Map<Long, Integer> quantities) throws IllegalArgumentException {
+        TreeMap<Long, Integer> sorted = decrement(quantities);
+
+        // Le righe della prenotazione sono scritte con il decremento: o entrambi o nessuno
+        StockReservation reservation = new StockReservation(UUID.randomUUID(), Map.copyOf(sorted), Instant.now());
+        Instant expiresAt = reservation.createdAt().plus(Duration.ofSeconds(reservationTtlSeconds));
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            entityManager.persist(new StockReservationLine(
+                    new StockReservationLine.Key(reservation.id(), entry.getKey()),
+                    entry.getValue(), reservation.createdAt(), expiresAt));
+        }
+        menuService.refreshAvailability(sorted.keySet());
+        return reservation;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void take(Map<Long, Integer> quantities) throws IllegalArgumentException {
+        TreeMap<Long, Integer> sorted = decrement(quantities);
+        menuService.refreshAvailability(sorted.keySet());
+    }
+
+    @Override
+    public void restock(Map<Long, Integer> quantities) throws IllegalArgumentException {
+        TreeMap<Long, Integer> sorted = sortedQuantities(quantities);
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            if (dishRepository.incrementQuantity(entry.getKey(), entry.getValue()) == 0) {
+                throw new IllegalArgumentException(Constants.NO_DISH_WITH_ID + entry.getKey());
+            }
+        }
+        menuService.refreshAvailability(sorted.keySet());
+    }
+
+    @Override
+    public void release(UUID reservationId) throws IllegalArgumentException {
+        StockReservation reservation = takePending(reservationId);
+
+        for (Map.Entry<Long, Integer> entry : reservation.quantities().entrySet()) {
+            dishRepository.incrementQuantity(entry.getKey(), entry.getValue());
+        }
+        menuService.refreshAvailability(reservation.quantities().keySet());
+    }
+
+    @Override
+    public void commit(UUID reservationId) throws IllegalArgumentException {
+        // Lo stock è già stato decrementato: basta cancellare la prenotazione
+        takePending(reservationId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sushi9.stock.expiry-check-ms:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int releaseExpired() {
+        // Una transazione breve per prenotazione: un errore su una non annulla le altre
+        // e nessuna riga di Dish resta bloccata per tutta la durata del job
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int released = 0;
+        List<UUID> expired;
+        do {
+            expired = reservationRepository.findExpiredReservationIds(Instant.now(), Limit.of(EXPIRED_PAGE_SIZE));
+            for (UUID reservationId : expired) {
+                try {
+                    transaction.executeWithoutResult(status -> release(reservationId));
+                    released++;
+                } catch (IllegalArgumentException e) {
+                    // Confermata o rilasciata da un'altra richiesta o istanza nel frattempo
+                }
+            }
+        } while (expired.size() == EXPIRED_PAGE_SIZE);
+        return released;
+    }
+
+    private TreeMap<Long, Integer> decrement(Map<Long, Integer> quantities) {
+        TreeMap<Long, Integer> sorted = sortedQuantities(quantities);
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            if (dishRepository.decrementQuantity(entry.getKey(), entry.getValue()) == 0) {
+                if (!dishRepository.existsById(entry.getKey())) {
+                    throw new IllegalArgumentException(Constants.NO_DISH_WITH_ID + entry.getKey());
+                }
+                // Il rollback annulla anche i decrementi già fatti sugli altri piatti
+                throw new IllegalArgumentException(Constants.INSUFFICIENT_QUANTITY + " for dish " + entry.getKey());
+            }
+        }
+        return sorted;
+    }
+
+    // Ordine crescente di id: transazioni che aggiornano gli stessi piatti
+    // bloccano le righe nello stesso ordine e non vanno in deadlock
+    private static TreeMap<Long, Integer> sortedQuantities(Map<Long, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        TreeMap<Long, Integer> sorted = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException(Constants.INVALID_QUANTITY);
+            }
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return sorted;
+    }
+
+    // Cancella le righe della prenotazione; solo chi le cancella davvero può usarne le quantità,
+    // quindi due rilasci concorrenti non restituiscono le porzioni due volte
+    private StockReservation takePending(UUID reservationId) {
+        if (reservationId == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        List<StockReservationLine> lines = reservationRepository.findByIdReservationId(reservationId);
+        if (lines.isEmpty() || reservationRepository.deleteByReservationId(reservationId) == 0) {
+            throw new IllegalArgumentException(Constants.NO_RESERVATION_WITH_ID + reservationId);
+        }
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (StockReservationLine line : lines) {
+            quantities.put(line.getDishId(), line.getQuantity());
+        }
+        return new StockReservation(reservationId, quantities, lines.get(0).getCreatedAt());
+    }
+}
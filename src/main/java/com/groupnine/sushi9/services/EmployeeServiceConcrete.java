@@ -1,17 +1,51 @@
 package com.groupnine.sushi9.services;
 
+import com.groupnine.sushi9.config.LeaderboardConfig;
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.dto.SalaryStats;
 import com.groupnine.sushi9.model.Employee;
 import com.groupnine.sushi9.model.Order;
 import com.groupnine.sushi9.repositories.EmployeeRepository;
+import com.groupnine.sushi9.repositories.OrderRepository;
+import com.groupnine.sushi9.repositories.projections.EmployeeSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import com.groupnine.sushi9.repositories.projections.SalaryEntry;
 import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import com.groupnine.sushi9.services.interfaces.OutboxService;
+import com.groupnine.sushi9.services.support.EntityCache;
+import com.groupnine.sushi9.services.support.OrderCountLeaderboard;
+import com.groupnine.sushi9.services.support.PersonValidator;
+import com.groupnine.sushi9.services.support.SalaryIndex;
+import com.groupnine.sushi9.services.support.ValidationResult;
 import com.groupnine.sushi9.utils.Constants;
+import com.groupnine.sushi9.utils.KeysetStreams;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 /**
  * Concrete implementation of the {@link EmployeeService} interface.
@@ -24,25 +58,46 @@ public class EmployeeServiceConcrete implements EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    // Pattern for taxCode validation (Italian format)
-    private static final Pattern TAXCODE_PATTERN = Pattern.compile(Constants.TAXCODE_PATTERN);
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityCache<EmployeeDto> employeeCache;
+
+    @Autowired
+    private PersonValidator personValidator;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    @Qualifier(LeaderboardConfig.EMPLOYEE_LEADERBOARD)
+    private OrderCountLeaderboard employeeLeaderboard;
+
+    // Sorted salary snapshot, rebuilt lazily after employee writes. It is current while
+    // its write count matches salaryWrites; null until the first build succeeds
+    private record BuiltSalaryIndex(SalaryIndex index, long writes) { }
+
+    private volatile BuiltSalaryIndex salaryIndex;
+    private final AtomicLong salaryWrites = new AtomicLong();
+    private final ReentrantLock salaryIndexLock = new ReentrantLock();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Rows per transaction for bulk imports; Hibernate sends them in JDBC batches
+    // of hibernate.jdbc.batch_size, so one chunk spans several batches
+    @Value("${sushi9.batch.size:500}")
+    private int batchSize;
 
     protected EmployeeServiceConcrete() { }
 
     @Override
     public Employee createEmployee(Employee employee) throws IllegalArgumentException {
         // Validation
-        if (employee == null) {
-            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
-        }
-
-        if (employee.getTaxCode() == null || employee.getTaxCode().isEmpty()) {
-            throw new IllegalArgumentException("Tax code cannot be null or empty");
-        }
-
-        // Validate taxCode format
-        if (!TAXCODE_PATTERN.matcher(employee.getTaxCode()).matches()) {
-            throw new IllegalArgumentException("Invalid tax code format");
+        ValidationResult validation = personValidator.validate(employee);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException(validation.message());
         }
 
         // Check if employee already exists
@@ -50,32 +105,74 @@ public class EmployeeServiceConcrete implements EmployeeService {
             throw new IllegalArgumentException(Constants.EMPLOYEE_ALREADY_EXISTS + employee.getTaxCode());
         }
 
-        // Validate salary
-        if (employee.getSalary() < 0) {
-            throw new IllegalArgumentException(Constants.INVALID_SALARY);
+        invalidateSalaryIndex();
+        Employee saved = employeeRepository.save(employee);
+        outboxService.record(OutboxService.EMPLOYEE, saved.getTaxCode(), "employee.created", EmployeeDto.from(saved));
+        return saved;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResult createEmployees(Collection<Employee> employees) throws IllegalArgumentException {
+        if (employees == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        List<BatchResult.Reject> rejects = new ArrayList<>();
+        Set<String> batchTaxCodes = new HashSet<>();
+
+        List<Employee> chunk = new ArrayList<>(batchSize);
+        List<Integer> chunkRows = new ArrayList<>(batchSize);
+        int row = 0;
+        int imported = 0;
+
+        for (Employee employee : employees) {
+            String error = personValidator.validate(employee).message();
+
+            // Duplicates within the same batch
+            if (error == null && !batchTaxCodes.add(employee.getTaxCode())) {
+                error = Constants.DUPLICATE_IN_BATCH + employee.getTaxCode();
+            }
+
+            if (error != null) {
+                rejects.add(new BatchResult.Reject(row, employee != null ? employee.getTaxCode() : null, error));
+            } else {
+                chunk.add(employee);
+                chunkRows.add(row);
+            }
+            row++;
+
+            if (chunk.size() == batchSize) {
+                imported += importEmployeeChunk(chunk, chunkRows, rejects);
+                chunk.clear();
+                chunkRows.clear();
+            }
         }
 
-        // Validate hire date (cannot be in the future)
-        if (employee.getHireDate() != null &&
-                employee.getHireDate().isAfter(java.time.LocalDate.now())) {
-            throw new IllegalArgumentException("Hire date cannot be in the future");
+        if (!chunk.isEmpty()) {
+            imported += importEmployeeChunk(chunk, chunkRows, rejects);
         }
 
-        return employeeRepository.save(employee);
+        rejects.sort(Comparator.comparingInt(BatchResult.Reject::row));
+        return new BatchResult(row, imported, rejects);
     }
 
     @Override
-    public Employee getEmployeeById(String taxCode) throws IllegalArgumentException {
+    public EmployeeDto getEmployeeById(String taxCode) throws IllegalArgumentException {
         if (taxCode == null || taxCode.isEmpty()) {
             throw new IllegalArgumentException("Tax code cannot be null or empty");
         }
 
-        Optional<Employee> employee = employeeRepository.findById(taxCode);
-        if (employee.isEmpty()) {
-            throw new IllegalArgumentException(Constants.NO_EMPLOYEE_WITH_TAXCODE + taxCode);
+        EmployeeDto cached = employeeCache.get(taxCode);
+        if (cached != null) {
+            return cached;
         }
 
-        return employee.get();
+        // Token taken before the load: if the employee changes meanwhile, the put is dropped
+        long token = employeeCache.readToken();
+        EmployeeDto employee = EmployeeDto.from(loadEmployee(taxCode));
+        employeeCache.put(employee, token);
+        return employee;
     }
 
     @Override
@@ -83,6 +180,29 @@ public class EmployeeServiceConcrete implements EmployeeService {
         return employeeRepository.findAll();
     }
 
+    @Override
+    public List<Employee> getEmployeesPage(String afterTaxCode, int pageSize) throws IllegalArgumentException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        // The empty string sorts before any valid taxCode
+        String key = afterTaxCode != null ? afterTaxCode : "";
+        return employeeRepository.findByTaxCodeGreaterThanOrderByTaxCodeAsc(key, Limit.of(pageSize));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Stream<Employee> streamAllEmployees(int pageSize) throws IllegalArgumentException {
+        // Only builds the stream: pages are read while it is consumed, each in its own
+        // transaction or in the caller's one
+        return KeysetStreams.stream(transactionManager,
+                (String after, Integer size) -> employeeRepository.findByTaxCodeGreaterThanOrderByTaxCodeAsc(
+                        after != null ? after : "", Limit.of(size)),
+                Employee::getTaxCode,
+                pageSize);
+    }
+
     @Override
     public Employee updateEmployee(String taxCode, Employee employeeDetails) throws IllegalArgumentException {
         if (taxCode == null || taxCode.isEmpty()) {
@@ -93,8 +213,8 @@ public class EmployeeServiceConcrete implements EmployeeService {
             throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
         }
 
-        // Get existing employee
-        Employee existingEmployee = getEmployeeById(taxCode);
+        // Get existing employee (always from the database, never from the cache)
+        Employee existingEmployee = loadEmployee(taxCode);
 
         // Update allowed fields (cannot change taxCode)
         existingEmployee.setFirstName(employeeDetails.getFirstName());
@@ -108,7 +228,11 @@ public class EmployeeServiceConcrete implements EmployeeService {
             throw new IllegalArgumentException(Constants.INVALID_SALARY);
         }
 
-        return employeeRepository.save(existingEmployee);
+        employeeCache.invalidateOnCompletion(taxCode);
+        invalidateSalaryIndex();
+        Employee saved = employeeRepository.save(existingEmployee);
+        outboxService.record(OutboxService.EMPLOYEE, taxCode, "employee.updated", EmployeeDto.from(saved));
+        return saved;
     }
 
     @Override
@@ -117,7 +241,7 @@ public class EmployeeServiceConcrete implements EmployeeService {
             throw new IllegalArgumentException("Tax code cannot be null or empty");
         }
 
-        Employee employee = getEmployeeById(taxCode);
+        Employee employee = loadEmployee(taxCode);
 
         // Check if employee has managed orders
         if (employee.getManagedOrders() != null && !employee.getManagedOrders().isEmpty()) {
@@ -130,7 +254,10 @@ public class EmployeeServiceConcrete implements EmployeeService {
             // }
         }
 
+        employeeCache.invalidateOnCompletion(taxCode);
+        invalidateSalaryIndex();
         employeeRepository.delete(employee);
+        outboxService.record(OutboxService.EMPLOYEE, taxCode, "employee.deleted", Map.of("taxCode", taxCode));
     }
 
     @Override
@@ -142,13 +269,38 @@ public class EmployeeServiceConcrete implements EmployeeService {
         return employeeRepository.findByJobTitle(jobTitle);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findSummariesByJobTitle(String jobTitle) throws IllegalArgumentException {
+        if (jobTitle == null || jobTitle.isEmpty()) {
+            throw new IllegalArgumentException("Job title cannot be null or empty");
+        }
+
+        return employeeRepository.findSummariesByJobTitle(jobTitle);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> getEmployeeSummariesPage(String afterTaxCode, int pageSize) throws IllegalArgumentException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        String key = afterTaxCode != null ? afterTaxCode : "";
+        return employeeRepository.findSummariesByTaxCodeGreaterThanOrderByTaxCodeAsc(key, Limit.of(pageSize));
+    }
+
     @Override
     public List<Order> getOrdersManagedByEmployee(String taxCode) throws IllegalArgumentException {
-        Employee employee = getEmployeeById(taxCode);
-        return employee.getManagedOrders() != null ? employee.getManagedOrders() : List.of();
+        // Make sure the employee exists (from the cache when possible)
+        getEmployeeById(taxCode);
+
+        // One fetch-join query instead of walking managedOrders and each order's dishes lazily
+        return orderRepository.findByEmployeeWithDetails(taxCode);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> findEmployeesWhoManagedOrdersForCustomer(String customerTaxCode) throws IllegalArgumentException {
         if (customerTaxCode == null || customerTaxCode.isEmpty()) {
             throw new IllegalArgumentException("Customer tax code cannot be null or empty");
@@ -184,10 +336,195 @@ public class EmployeeServiceConcrete implements EmployeeService {
     }
 
     @Override
-    public List<Employee> findBySalaryGreaterThan(float salary) {
+    public EmployeeDto findEmployeeWithMostOrders() {
+        // Served from the in-memory leaderboard instead of grouping and sorting every employee
+        OrderCount top = employeeLeaderboard.top();
+        if (top != null) {
+            return getEmployeeById(top.taxCode());
+        }
+
+        // No orders yet: like the original query, any employee will do
+        List<Employee> any = employeeRepository.findByTaxCodeGreaterThanOrderByTaxCodeAsc("", Limit.of(1));
+        if (any.isEmpty()) {
+            throw new IllegalArgumentException("No employees found");
+        }
+
+        return EmployeeDto.from(any.get(0));
+    }
+
+    @Override
+    public List<OrderCount> findTopEmployeesByOrderCount(int k) throws IllegalArgumentException {
+        if (k <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        return employeeLeaderboard.top(k);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildLeaderboard() {
+        employeeLeaderboard.rebuild(employeeRepository::countOrdersByEmployee);
+    }
+
+    @Override
+    public List<Employee> findBySalaryGreaterThan(double salary) {
         if (salary < 0) {
             throw new IllegalArgumentException(Constants.INVALID_SALARY);
         }
         return employeeRepository.findBySalaryGreaterThan(salary);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SalaryStats getSalaryStats() {
+        return salaryIndex().stats();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public double getSalaryPercentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        return salaryIndex().percentile(percentile);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int countBySalaryGreaterThan(double salary) throws IllegalArgumentException {
+        if (salary < 0) {
+            throw new IllegalArgumentException(Constants.INVALID_SALARY);
+        }
+        return salaryIndex().countAbove(salary);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, SalaryStats> getSalaryStatsByJobTitle() {
+        return salaryIndex().byJobTitle();
+    }
+
+    // Rebuilds the salary index on the first read after an employee write
+    private SalaryIndex salaryIndex() {
+        BuiltSalaryIndex current = salaryIndex;
+        if (current != null && current.writes() == salaryWrites.get()) {
+            return current.index();
+        }
+
+        // While another thread rebuilds, readers keep using the previous index;
+        // before the first build they wait for it instead of seeing an empty one
+        if (current != null) {
+            if (!salaryIndexLock.tryLock()) {
+                return current.index();
+            }
+        } else {
+            salaryIndexLock.lock();
+        }
+        try {
+            current = salaryIndex;
+            long writes = salaryWrites.get();
+            if (current == null || current.writes() != writes) {
+                // The count is read before the query: a write committed during the build
+                // leaves the new index stale. The query runs in its own transaction on the
+                // primary, so it never sees a caller's uncommitted writes nor a lagging
+                // replica. If it fails nothing is replaced and the next call tries again
+                List<SalaryEntry> entries = new TransactionTemplate(transactionManager)
+                        .execute(status -> employeeRepository.findAllSalaries());
+                current = new BuiltSalaryIndex(SalaryIndex.build(entries), writes);
+                salaryIndex = current;
+            }
+            return current.index();
+        } finally {
+            salaryIndexLock.unlock();
+        }
+    }
+
+    // Marks the salary index stale once the current transaction commits
+    private void invalidateSalaryIndex() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    salaryWrites.incrementAndGet();
+                }
+            });
+        } else {
+            salaryWrites.incrementAndGet();
+        }
+    }
+
+    // Each chunk has its own transaction: a failure rolls back that chunk only, which is
+    // then retried row by row (one transaction each) so that only the conflicting rows are rejected
+    private int importEmployeeChunk(List<Employee> chunk, List<Integer> rows, List<BatchResult.Reject> rejects) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<BatchResult.Reject> chunkRejects = new ArrayList<>();
+        try {
+            Integer saved = transaction.execute(status -> persistEmployeeChunk(chunk, rows, chunkRejects));
+            rejects.addAll(chunkRejects);
+            return saved != null ? saved : 0;
+        } catch (DataIntegrityViolationException e) {
+            int saved = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                Employee employee = chunk.get(i);
+                try {
+                    transaction.executeWithoutResult(status -> createEmployee(employee));
+                    saved++;
+                } catch (IllegalArgumentException rowError) {
+                    rejects.add(new BatchResult.Reject(rows.get(i), employee.getTaxCode(), rowError.getMessage()));
+                } catch (DataIntegrityViolationException rowError) {
+                    // Inserted concurrently after the existence check
+                    rejects.add(new BatchResult.Reject(rows.get(i), employee.getTaxCode(),
+                            Constants.EMPLOYEE_ALREADY_EXISTS + employee.getTaxCode()));
+                }
+            }
+            return saved;
+        }
+    }
+
+    // Checks a chunk for existing tax codes with one query and saves the rest.
+    // The persistence context belongs to the chunk's transaction and closes with it
+    private int persistEmployeeChunk(List<Employee> chunk, List<Integer> rows, List<BatchResult.Reject> rejects) {
+        List<String> taxCodes = new ArrayList<>(chunk.size());
+        for (Employee employee : chunk) {
+            taxCodes.add(employee.getTaxCode());
+        }
+        Set<String> existing = new HashSet<>(employeeRepository.findExistingTaxCodes(taxCodes));
+
+        List<Employee> toSave = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            if (existing.contains(employee.getTaxCode())) {
+                rejects.add(new BatchResult.Reject(rows.get(i), employee.getTaxCode(),
+                        Constants.EMPLOYEE_ALREADY_EXISTS + employee.getTaxCode()));
+            } else {
+                toSave.add(employee);
+            }
+        }
+
+        if (!toSave.isEmpty()) {
+            invalidateSalaryIndex();
+        }
+        employeeRepository.saveAll(toSave);
+        for (Employee employee : toSave) {
+            outboxService.record(OutboxService.EMPLOYEE, employee.getTaxCode(), "employee.created", EmployeeDto.from(employee));
+        }
+        // Flush through the repository so constraint violations surface as DataIntegrityViolationException
+        employeeRepository.flush();
+        return toSave.size();
+    }
+
+    // Loads the employee from the database: used where the managed entity is needed (lazy orders, updates)
+    private Employee loadEmployee(String taxCode) {
+        if (taxCode == null || taxCode.isEmpty()) {
+            throw new IllegalArgumentException("Tax code cannot be null or empty");
+        }
+
+        Optional<Employee> employee = employeeRepository.findById(taxCode);
+        if (employee.isEmpty()) {
+            throw new IllegalArgumentException(Constants.NO_EMPLOYEE_WITH_TAXCODE + taxCode);
+        }
+
+        return employee.get();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.repositories.IngredientRepository;
+import com.groupnine.sushi9.repositories.projections.IngredientStock;
+import com.groupnine.sushi9.services.interfaces.InventoryService;
+import com.groupnine.sushi9.services.support.LowStockTracker;
+import com.groupnine.sushi9.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Concrete implementation of the {@link InventoryService} interface.
+ * An order is deducted with a single bulk update over its recipes, whatever the
+ * number of dishes and ingredients; the new levels of just those ingredients
+ * are then read back, in the same transaction, to update the low-stock set after commit.
+ * <p>
+ * Stock is not floored at zero: paid orders have been served whatever the recorded
+ * stock, so a deduction always applies and a negative level is kept and reported as
+ * overdrawn, meaning the recorded stock needs a count.
+ */
+@Service
+@Transactional
+public class InventoryServiceConcrete implements InventoryService {
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private final LowStockTracker lowStock = new LowStockTracker();
+
+    protected InventoryServiceConcrete() { }
+
+    @Override
+    public int deductForOrder(long orderId) {
+        int updated = ingredientRepository.deductForOrder(orderId);
+        if (updated > 0) {
+            List<IngredientStock> stocks = ingredientRepository.findStocksUsedByOrder(orderId);
+            afterCommit(() -> lowStock.update(stocks));
+        }
+        return updated;
+    }
+
+    @Override
+    public void restock(long ingredientId, double amount) throws IllegalArgumentException {
+        if (amount <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_QUANTITY);
+        }
+
+        if (ingredientRepository.addStock(ingredientId, amount) == 0) {
+            throw new IllegalArgumentException(Constants.NO_INGREDIENT_WITH_ID + ingredientId);
+        }
+        refreshLowStock(ingredientId);
+    }
+
+    @Override
+    public void setStockLevel(long ingredientId, double stock, double lowStockThreshold) throws IllegalArgumentException {
+        if (stock < 0 || lowStockThreshold < 0) {
+            throw new IllegalArgumentException(Constants.INVALID_QUANTITY);
+        }
+
+        // Update diretto: incrementa anche la versione della scorta
+        if (ingredientRepository.setStockLevel(ingredientId, stock, lowStockThreshold) == 0) {
+            throw new IllegalArgumentException(Constants.NO_INGREDIENT_WITH_ID + ingredientId);
+        }
+        refreshLowStock(ingredientId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<IngredientStock> getLowStockIngredients() {
+        return lowStock.lowStock();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int getLowStockCount() {
+        return lowStock.size();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int getOverdrawnCount() {
+        return lowStock.overdrawnCount();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildLowStock() {
+        lowStock.rebuild(ingredientRepository.findLowStock());
+    }
+
+    private void refreshLowStock(long ingredientId) {
+        List<IngredientStock> stocks = ingredientRepository.findStockById(ingredientId);
+        afterCommit(() -> lowStock.update(stocks));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.KitchenTicket;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.KitchenStation;
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.repositories.OrderRepository;
+import com.groupnine.sushi9.services.interfaces.KitchenService;
+import com.groupnine.sushi9.services.support.KitchenDisplayHub;
+import com.groupnine.sushi9.services.support.KitchenQueues;
+import com.groupnine.sushi9.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concrete implementation of the {@link KitchenService} interface.
+ * Queues live in memory and are rebuilt at startup from the orders in
+ * {@link OrderState#SENT_TO_KITCHEN}; tickets are only queued or removed
+ * after the order transition has committed.
+ */
+@Service
+@Transactional
+public class KitchenServiceConcrete implements KitchenService {
+
+    public static final String TICKETS_ADDED = "tickets-added";
+    public static final String TICKET_STARTED = "ticket-started";
+    public static final String TICKET_DONE = "ticket-done";
+    public static final String TICKETS_REMOVED = "tickets-removed";
+    public static final String SNAPSHOT = "snapshot";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private KitchenDisplayHub displayHub;
+
+    // Tempo entro cui un piatto dovrebbe arrivare al tavolo dalla creazione dell'ordine
+    @Value("${sushi9.kitchen.target-serve-seconds:900}")
+    private long targetServeSeconds;
+
+    @Value("${sushi9.kitchen.snapshot-size:50}")
+    private int snapshotSize;
+
+    private final KitchenQueues queues = new KitchenQueues();
+    // Parte dai secondi dell'avvio << 20, così gli id non si ripetono tra un riavvio e l'altro
+    private final AtomicLong ticketSequence = new AtomicLong(Instant.now().getEpochSecond() << 20);
+
+    protected KitchenServiceConcrete() { }
+
+    @Override
+    public void dispatchOrder(long orderId) throws IllegalArgumentException {
+        List<Order> orders = orderRepository.findWithDetailsByIdIn(List.of(orderId));
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException(Constants.NO_ORDER_WITH_ID + orderId);
+        }
+        List<KitchenTicket> tickets = toTickets(orders.getFirst());
+
+        afterCommit(() -> {
+            // La ricostruzione all'avvio può averlo già messo in coda
+            if (queues.addOrder(orderId, tickets)) {
+                publishByStation(TICKETS_ADDED, tickets);
+            }
+        });
+    }
+
+    @Override
+    public void clearOrder(long orderId) {
+        afterCommit(() -> publishByStation(TICKETS_REMOVED, queues.removeOrder(orderId)));
+    }
+
+    @Override
+    public Optional<KitchenTicket> startNext(KitchenStation station) throws IllegalArgumentException {
+        if (station == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        KitchenTicket ticket = queues.claimNext(station);
+        if (ticket != null) {
+            displayHub.publish(station, TICKET_STARTED, ticket);
+        }
+        return Optional.ofNullable(ticket);
+    }
+
+    @Override
+    public KitchenTicket completeTicket(long ticketId) throws IllegalArgumentException {
+        KitchenTicket ticket = queues.complete(ticketId);
+        if (ticket == null) {
+            throw new IllegalArgumentException(Constants.NO_TICKET_WITH_ID + ticketId);
+        }
+        displayHub.publish(ticket.station(), TICKET_DONE, ticket);
+        return ticket;
+    }
+
+    @Override
+    public List<KitchenTicket> getQueue(KitchenStation station, int limit) throws IllegalArgumentException {
+        if (station == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        return queues.peek(station, limit);
+    }
+
+    @Override
+    public SseEmitter subscribe(KitchenStation station) throws IllegalArgumentException {
+        if (station == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        Map<String, List<KitchenTicket>> snapshot = Map.of(
+                "inProgress", queues.inProgress(station),
+                "waiting", queues.peek(station, snapshotSize));
+        return displayHub.subscribe(station, SNAPSHOT, snapshot);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildQueues() {
+        List<Long> ids = new ArrayList<>();
+        for (Order order : orderRepository.findByState(OrderState.SENT_TO_KITCHEN)) {
+            ids.add(order.getId());
+        }
+
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Le richieste sono già accettate: gli ordini inviati nel frattempo restano in coda una volta sola
+        for (Order order : orderRepository.findWithDetailsByIdIn(ids)) {
+            queues.addOrder(order.getId(), toTickets(order));
+        }
+    }
+
+    private List<KitchenTicket> toTickets(Order order) {
+        Instant orderedAt = order.getCreatedAt() != null ? order.getCreatedAt() : Instant.now();
+        Long tableId = order.getTable() != null ? order.getTable().getId() : null;
+
+        List<KitchenTicket> tickets = new ArrayList<>();
+        for (Dish dish : order.getPlates()) {
+            int prepSeconds = dish.getPrepSeconds();
+            // Ultimo istante utile per iniziare il piatto: i tavoli che aspettano da più tempo
+            // e i piatti più lunghi da preparare passano davanti
+            Instant startBy = orderedAt.plusSeconds(targetServeSeconds - prepSeconds);
+            tickets.add(new KitchenTicket(ticketSequence.incrementAndGet(), order.getId(), tableId,
+                    dish.getId(), dish.getName(), dish.getStation(), prepSeconds, orderedAt, startBy));
+        }
+        return tickets;
+    }
+
+    private void publishByStation(String event, List<KitchenTicket> tickets) {
+        for (KitchenStation station : KitchenStation.values()) {
+            List<KitchenTicket> stationTickets = new ArrayList<>();
+            for (KitchenTicket ticket : tickets) {
+                if (ticket.station() == station) {
+                    stationTickets.add(ticket);
+                }
+            }
+            if (!stationTickets.isEmpty()) {
+                displayHub.publish(station, event, stationTickets);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.MenuIngredient;
+import com.groupnine.sushi9.dto.MenuItem;
+import com.groupnine.sushi9.dto.MenuSnapshot;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Ingredient;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.IngredientRepository;
+import com.groupnine.sushi9.repositories.projections.DishQuantity;
+import com.groupnine.sushi9.services.interfaces.MenuService;
+import com.groupnine.sushi9.services.support.IngredientIndex;
+import com.groupnine.sushi9.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concrete implementation of the {@link MenuService} interface.
+ * An edit marks its dishes as stale once it commits; a background task then
+ * re-reads only those dishes and replaces them in the snapshot copy-on-write,
+ * so the menu follows the commit order without rebuilding it on every edit.
+ * Updates and the full refresh take turns on one lock, which also assigns the
+ * versions. The periodic refresh picks up changes made by other instances and
+ * repairs any update that failed.
+ * Ingredient filters use an {@link IngredientIndex} kept in step with the
+ * dish-ingredient links, link by link.
+ */
+@Service
+@Transactional
+public class MenuServiceConcrete implements MenuService {
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor menuUpdates;
+
+    private final AtomicReference<MenuSnapshot> menu = new AtomicReference<>(MenuSnapshot.EMPTY);
+    private final AtomicLong versions = new AtomicLong();
+    private final IngredientIndex ingredientIndex = new IngredientIndex();
+
+    // Piatti modificati da transazioni già committate, non ancora riletti
+    private final Set<Long> staleDishes = ConcurrentHashMap.newKeySet();
+    // Piatti di cui è cambiato solo lo stock: basta rileggere la quantità
+    private final Set<Long> staleStock = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock updating = new ReentrantLock();
+
+    protected MenuServiceConcrete() { }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MenuSnapshot getMenu() {
+        return menu.get();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MenuItem getMenuItem(long dishId) throws IllegalArgumentException {
+        MenuItem item = menu.get().item(dishId);
+        if (item == null) {
+            throw new IllegalArgumentException(Constants.NO_DISH_WITH_ID + dishId);
+        }
+        return item;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<MenuItem> filterMenu(Collection<Long> requiredIngredientIds,
+                                     Collection<Long> excludedIngredientIds) {
+        List<Long> dishIds = ingredientIndex.filter(
+                requiredIngredientIds != null ? requiredIngredientIds : List.of(),
+                excludedIngredientIds != null ? excludedIngredientIds : List.of());
+
+        MenuSnapshot current = menu.get();
+        List<MenuItem> items = new ArrayList<>(dishIds.size());
+        for (Long dishId : dishIds) {
+            MenuItem item = current.item(dishId);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public Dish createDish(Dish dish) throws IllegalArgumentException {
+        if (dish == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        validateDish(dish);
+
+        if (dishRepository.existsByName(dish.getName())) {
+            throw new IllegalArgumentException(Constants.DISH_ALREADY_EXISTS + dish.getName());
+        }
+
+        Dish saved = dishRepository.save(dish);
+        markStale(List.of(saved.getId()));
+
+        List<Long> ingredientIds = new ArrayList<>();
+        for (Ingredient ingredient : saved.getIngredients()) {
+            ingredientIds.add(ingredient.getId());
+        }
+        afterCommit(() -> {
+            ingredientIndex.addDish(saved.getId());
+            for (Long ingredientId : ingredientIds) {
+                ingredientIndex.link(saved.getId(), ingredientId);
+            }
+        });
+        return saved;
+    }
+
+    @Override
+    public Dish updateDish(long dishId, Dish changes) throws IllegalArgumentException {
+        if (changes == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        validateDish(changes);
+
+        Dish dish = getDish(dishId);
+        if (!dish.getName().equals(changes.getName()) && dishRepository.existsByName(changes.getName())) {
+            throw new IllegalArgumentException(Constants.DISH_ALREADY_EXISTS + changes.getName());
+        }
+
+        dish.setName(changes.getName());
+        dish.setDescription(changes.getDescription());
+        dish.setPrice(changes.getPrice());
+        // Lo stock si cambia solo con DishStockService.restock, a delta
+        dish.setStation(changes.getStation());
+        dish.setPrepSeconds(changes.getPrepSeconds());
+        markStale(List.of(dishId));
+        return dish;
+    }
+
+    @Override
+    public Ingredient createIngredient(Ingredient ingredient) throws IllegalArgumentException {
+        if (ingredient == null || ingredient.getName() == null || ingredient.getName().isBlank()) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        // Un ingrediente senza piatti non cambia il menu
+        return ingredientRepository.save(ingredient);
+    }
+
+    @Override
+    public Dish addIngredientToDish(long dishId, long ingredientId, double quantity) throws IllegalArgumentException {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_QUANTITY);
+        }
+
+        Dish dish = getDish(dishId);
+        Ingredient ingredient = getIngredient(ingredientId);
+
+        // Se l'ingrediente c'è già cambia solo la quantità della ricetta, che il menu non mostra
+        boolean added = !dish.containsIngredient(ingredient);
+        dish.addIngredient(ingredient, quantity);
+        if (added) {
+            markStale(List.of(dishId));
+            afterCommit(() -> ingredientIndex.link(dishId, ingredientId));
+        }
+        return dish;
+    }
+
+    @Override
+    public Dish removeIngredientFromDish(long dishId, long ingredientId) throws IllegalArgumentException {
+        Dish dish = getDish(dishId);
+        Ingredient ingredient = getIngredient(ingredientId);
+
+        if (dish.containsIngredient(ingredient)) {
+            dish.removeIngredient(ingredient);
+            markStale(List.of(dishId));
+            afterCommit(() -> ingredientIndex.unlink(dishId, ingredientId));
+        }
+        return dish;
+    }
+
+    @Override
+    public void refreshAvailability(Collection<Long> dishIds) {
+        if (dishIds == null || dishIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = List.copyOf(dishIds);
+        afterCommit(() -> {
+            staleStock.addAll(ids);
+            menuUpdates.execute(this::applyStale);
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${sushi9.menu.refresh-ms:300000}", initialDelayString = "${sushi9.menu.refresh-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refresh() {
+        updating.lock();
+        try {
+            MenuSnapshot rebuilt = primaryRead().execute(status -> {
+                List<MenuItem> items = new ArrayList<>();
+                for (Dish dish : dishRepository.findAllWithIngredients()) {
+                    items.add(MenuItem.from(dish));
+                }
+                return new MenuSnapshot(versions.incrementAndGet(), Instant.now(), items);
+            });
+            menu.set(rebuilt);
+
+            Map<Long, List<Long>> ingredientsByDish = new HashMap<>();
+            for (MenuItem item : rebuilt.getItems()) {
+                List<Long> ingredientIds = new ArrayList<>();
+                for (MenuIngredient ingredient : item.ingredients()) {
+                    ingredientIds.add(ingredient.id());
+                }
+                ingredientsByDish.put(item.id(), ingredientIds);
+            }
+            ingredientIndex.rebuild(ingredientsByDish);
+        } finally {
+            updating.unlock();
+        }
+        // Piatti segnati mentre il lock era preso: chi li ha segnati ha già rinunciato
+        applyStale();
+    }
+
+    private void markStale(List<Long> dishIds) {
+        afterCommit(() -> {
+            staleDishes.addAll(dishIds);
+            menuUpdates.execute(this::applyStale);
+        });
+    }
+
+    // Rilegge i piatti segnati dopo il commit, quindi con lo stato committato, e li sostituisce.
+    // Chi trova il lock occupato lascia i piatti a chi lo tiene, che ricontrolla dopo averlo rilasciato.
+    // Se la lettura fallisce i piatti restano come sono fino al prossimo refresh
+    private void applyStale() {
+        while ((!staleDishes.isEmpty() || !staleStock.isEmpty()) && updating.tryLock()) {
+            try {
+                List<Long> dishIds = drain(staleDishes);
+                List<Long> stockIds = drain(staleStock);
+                stockIds.removeAll(dishIds);
+
+                List<MenuItem> items = primaryRead().execute(status -> {
+                    List<MenuItem> loaded = new ArrayList<>();
+                    if (!dishIds.isEmpty()) {
+                        for (Dish dish : dishRepository.findWithIngredientsByIdIn(dishIds)) {
+                            loaded.add(MenuItem.from(dish));
+                        }
+                    }
+                    if (!stockIds.isEmpty()) {
+                        MenuSnapshot current = menu.get();
+                        for (DishQuantity dishQuantity : dishRepository.findQuantitiesByIdIn(stockIds)) {
+                            MenuItem item = current.item(dishQuantity.id());
+                            if (item != null) {
+                                loaded.add(item.withQuantity(dishQuantity.quantity()));
+                            }
+                        }
+                    }
+                    return loaded;
+                });
+
+                List<Long> replaced = new ArrayList<>(dishIds);
+                for (MenuItem item : items) {
+                    replaced.add(item.id());
+                }
+                menu.set(menu.get().withItems(versions.incrementAndGet(), replaced, items));
+            } finally {
+                updating.unlock();
+            }
+        }
+    }
+
+    private static List<Long> drain(Set<Long> stale) {
+        List<Long> dishIds = new ArrayList<>(stale);
+        stale.removeAll(dishIds);
+        return dishIds;
+    }
+
+    // Transazione di scrittura: legge dal primario, non da un replica in ritardo
+    private TransactionTemplate primaryRead() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private void validateDish(Dish dish) {
+        if (dish.getName() == null || dish.getName().isBlank()) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        if (dish.getPrice() <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PRICE);
+        }
+
+        if (dish.getQuantity() < 0 || dish.getPrepSeconds() <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_QUANTITY);
+        }
+    }
+
+    private Dish getDish(long dishId) {
+        return dishRepository.findById(dishId)
+                .orElseThrow(() -> new IllegalArgumentException(Constants.NO_DISH_WITH_ID + dishId));
+    }
+
+    private Ingredient getIngredient(long ingredientId) {
+        return ingredientRepository.findById(ingredientId)
+                .orElseThrow(() -> new IllegalArgumentException(Constants.NO_INGREDIENT_WITH_ID + ingredientId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.config.LeaderboardConfig;
+import com.groupnine.sushi9.dto.OrderDto;
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderHistory;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.repositories.CustomerRepository;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.EmployeeRepository;
+import com.groupnine.sushi9.repositories.OrderHistoryRepository;
+import com.groupnine.sushi9.repositories.OrderRepository;
+import com.groupnine.sushi9.repositories.RestaurantTableRepository;
+import com.groupnine.sushi9.services.interfaces.DishStockService;
+import com.groupnine.sushi9.services.interfaces.InventoryService;
+import com.groupnine.sushi9.services.interfaces.KitchenService;
+import com.groupnine.sushi9.services.interfaces.OrderService;
+import com.groupnine.sushi9.services.interfaces.OutboxService;
+import com.groupnine.sushi9.services.interfaces.SalesReportService;
+import com.groupnine.sushi9.services.support.OrderCountLeaderboard;
+import com.groupnine.sushi9.utils.Constants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Concrete implementation of the {@link OrderService} interface.
+ * State transitions are single-row conditional updates instead of
+ * load-modify-save of the whole order graph.
+ * Only the history of archived orders, which never changes, is read-only and may be
+ * served by the read replica; live order state is always read from the primary.
+ */
+@Service
+@Transactional
+public class OrderServiceConcrete implements OrderService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private DishStockService dishStockService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private KitchenService kitchenService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Giorni di ordini pagati mantenuti nella tabella ORDERS prima dell'archiviazione
+    @Value("${sushi9.orders.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${sushi9.batch.size:500}")
+    private int batchSize;
+
+    @Autowired
+    @Qualifier(LeaderboardConfig.CUSTOMER_LEADERBOARD)
+    private OrderCountLeaderboard customerLeaderboard;
+
+    @Autowired
+    @Qualifier(LeaderboardConfig.EMPLOYEE_LEADERBOARD)
+    private OrderCountLeaderboard employeeLeaderboard;
+
+    protected OrderServiceConcrete() { }
+
+    @Override
+    public Order createOrder(Order order) throws IllegalArgumentException {
+        if (order == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        if (order.getTable() == null) {
+            throw new IllegalArgumentException("Order table cannot be null");
+        }
+
+        // Un nuovo ordine parte sempre aperto
+        order.setState(OrderState.OPEN);
+        if (order.getPlates() == null) {
+            order.setDishes(new ArrayList<>());
+        }
+        if (order.getClients() == null) {
+            order.setCustomers(new ArrayList<>());
+        }
+
+        // Le porzioni escono dallo stock con l'ordine: se non bastano l'ordine non viene creato
+        if (!order.getPlates().isEmpty()) {
+            dishStockService.take(portions(order));
+        }
+
+        Order saved = orderRepository.save(order);
+        updateLeaderboards(saved, true);
+        outboxService.record(OutboxService.ORDER, String.valueOf(saved.getId()), "order.created", OrderDto.from(saved));
+        return saved;
+    }
+
+    @Override
+    public Order createOrder(long tableId, String employeeTaxCode, List<String> customerTaxCodes,
+                             List<Long> dishIds) throws IllegalArgumentException {
+        RestaurantTable table = tableRepository.findById(tableId)
+                .orElseThrow(() -> new IllegalArgumentException(Constants.NO_TABLE_WITH_ID + tableId));
+
+        Employee employee = null;
+        if (employeeTaxCode != null) {
+            employee = employeeRepository.findById(employeeTaxCode)
+                    .orElseThrow(() -> new IllegalArgumentException(Constants.NO_EMPLOYEE_WITH_TAXCODE + employeeTaxCode));
+        }
+
+        // Una query per i clienti e una per i piatti, qualunque sia la loro quantità
+        List<Customer> customers = new ArrayList<>();
+        if (customerTaxCodes != null && !customerTaxCodes.isEmpty()) {
+            Map<String, Customer> found = new HashMap<>();
+            for (Customer customer : customerRepository.findAllById(customerTaxCodes)) {
+                found.put(customer.getTaxCode(), customer);
+            }
+            for (String taxCode : new LinkedHashSet<>(customerTaxCodes)) {
+                Customer customer = found.get(taxCode);
+                if (customer == null) {
+                    throw new IllegalArgumentException(Constants.NO_CUSTOMER_WITH_TAXCODE + taxCode);
+                }
+                customers.add(customer);
+            }
+        }
+
+        List<Dish> dishes = new ArrayList<>();
+        if (dishIds != null && !dishIds.isEmpty()) {
+            Map<Long, Dish> found = new HashMap<>();
+            for (Dish dish : dishRepository.findAllById(new HashSet<>(dishIds))) {
+                found.put(dish.getId(), dish);
+            }
+            for (Long dishId : dishIds) {
+                Dish dish = found.get(dishId);
+                if (dish == null) {
+                    throw new IllegalArgumentException(Constants.NO_DISH_WITH_ID + dishId);
+                }
+                dishes.add(dish);
+            }
+        }
+
+        Order order = new Order();
+        order.setTable(table);
+        order.setEmployee(employee);
+        order.setCustomers(customers);
+        order.setDishes(dishes);
+        return createOrder(order);
+    }
+
+    @Override
+    public Order getOrderById(long id) throws IllegalArgumentException {
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isEmpty()) {
+            throw new IllegalArgumentException(Constants.NO_ORDER_WITH_ID + id);
+        }
+
+        return order.get();
+    }
+
+    @Override
+    public List<Order> getOrdersByState(OrderState state) throws IllegalArgumentException {
+        if (state == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        return orderRepository.findByState(state);
+    }
+
+    @Override
+    public void changeState(long id, OrderState expected, OrderState next) throws IllegalArgumentException {
+        if (expected == null || next == null) {
+            throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+        }
+
+        if (!expected.canTransitionTo(next)) {
+            throw new IllegalArgumentException(Constants.INVALID_ORDER_TRANSITION + expected + " -> " + next);
+        }
+
+        if (orderRepository.updateState(id, expected, next) == 1) {
+            // L'update bulk salta il contesto di persistenza: se l'ordine è già caricato lo si rilegge
+            Order cached = entityManager.getReference(Order.class, id);
+            if (Hibernate.isInitialized(cached)) {
+                entityManager.refresh(cached);
+            }
+            outboxService.record(OutboxService.ORDER, String.valueOf(id), "order.state-changed",
+                    Map.of("id", id, "from", expected, "to", next));
+            return;
+        }
+
+        // Nessuna riga aggiornata: l'ordine non esiste o è già stato modificato da altri
+        OrderState current = orderRepository.findStateById(id)
+                .orElseThrow(() -> new IllegalArgumentException(Constants.NO_ORDER_WITH_ID + id));
+
+        if (current.isCompleted()) {
+            throw new IllegalArgumentException(Constants.ORDER_ALREADY_COMPLETED);
+        }
+        throw new IllegalArgumentException(Constants.INVALID_ORDER_TRANSITION + current + " -> " + next);
+    }
+
+    @Override
+    public void sendToKitchen(long id) throws IllegalArgumentException {
+        changeState(id, OrderState.OPEN, OrderState.SENT_TO_KITCHEN);
+        kitchenService.dispatchOrder(id);
+    }
+
+    @Override
+    public void serve(long id) throws IllegalArgumentException {
+        changeState(id, OrderState.SENT_TO_KITCHEN, OrderState.SERVED);
+        kitchenService.clearOrder(id);
+    }
+
+    @Override
+    public void pay(long id) throws IllegalArgumentException {
+        changeState(id, OrderState.SERVED, OrderState.PAID);
+        salesReportService.recordPaidOrder(id);
+        inventoryService.deductForOrder(id);
+    }
+
+    @Override
+    public void deleteOrder(long id) throws IllegalArgumentException {
+        Order order = getOrderById(id);
+
+        if (order.getstate().isCompleted()) {
+            throw new IllegalArgumentException(Constants.ORDER_ALREADY_COMPLETED);
+        }
+
+        // Un ordine non ancora in cucina restituisce le sue porzioni
+        if (order.getstate() == OrderState.OPEN && !order.getPlates().isEmpty()) {
+            dishStockService.restock(portions(order));
+        }
+
+        // Il controllo di versione fa fallire la delete se un altro tablet ha modificato l'ordine
+        updateLeaderboards(order, false);
+        orderRepository.delete(order);
+        kitchenService.clearOrder(id);
+        outboxService.record(OutboxService.ORDER, String.valueOf(id), "order.deleted", Map.of("id", id));
+    }
+
+    @Override
+    public List<Order> getOrdersBetweenDates(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        return orderRepository.findByOrderDateBetween(startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderHistory> getOrderHistoryBetweenDates(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        return orderHistoryRepository.findByOrderDateBetweenOrderByOrderDateAsc(startDate, endDate);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int archiveOrdersBefore(LocalDate cutoff) throws IllegalArgumentException {
+        if (cutoff == null) {
+            throw new IllegalArgumentException(Constants.INVALID_DATE);
+        }
+
+        // Un giorno alla volta, a blocchi: ogni blocco è una transazione breve,
+        // così l'archiviazione non blocca la presa degli ordini
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int archived = 0;
+        for (LocalDate day : orderRepository.findOrderDatesBefore(cutoff, OrderState.PAID)) {
+            int moved;
+            do {
+                Integer count = transaction.execute(status -> archiveChunk(day));
+                moved = count != null ? count : 0;
+                archived += moved;
+            } while (moved == batchSize);
+        }
+        return archived;
+    }
+
+    @Override
+    @Scheduled(cron = "${sushi9.orders.archive-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int archiveClosedDays() {
+        return archiveOrdersBefore(LocalDate.now().minusDays(retentionDays));
+    }
+
+    // Copia un blocco di ordini pagati nello storico e li elimina da ORDERS.
+    // Le classifiche non cambiano: un ordine archiviato resta un ordine del cliente e del cameriere
+    private int archiveChunk(LocalDate day) {
+        List<Long> ids = orderRepository.findIdsByOrderDateAndState(day, OrderState.PAID, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Order> orders = orderRepository.findWithDetailsByIdIn(ids);
+        for (Order order : orders) {
+            // persist diretto: con l'id assegnato save() farebbe un merge con SELECT
+            entityManager.persist(OrderHistory.of(order));
+        }
+        orderRepository.deleteAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        return orders.size();
+    }
+
+    // Aggiorna le classifiche per numero di ordini solo a commit avvenuto. Dal beforeCommit
+    // all'aggiornamento le classifiche non si ricostruiscono, così l'ordine non è contato
+    // sia dal conteggio nel database sia dall'incremento, né perso tra i due
+    private void updateLeaderboards(Order order, boolean created) {
+        List<String> customerTaxCodes = new ArrayList<>();
+        for (Customer customer : order.getClients()) {
+            customerTaxCodes.add(customer.getTaxCode());
+        }
+        String employeeTaxCode = order.getEmployee() != null ? order.getEmployee().getTaxCode() : null;
+
+        Runnable update = () -> {
+            for (String taxCode : customerTaxCodes) {
+                if (created) {
+                    customerLeaderboard.increment(taxCode);
+                } else {
+                    customerLeaderboard.decrement(taxCode);
+                }
+            }
+            if (created) {
+                employeeLeaderboard.increment(employeeTaxCode);
+            } else {
+                employeeLeaderboard.decrement(employeeTaxCode);
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean holding;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                customerLeaderboard.beginUpdate();
+                employeeLeaderboard.beginUpdate();
+                holding = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (holding) {
+                    holding = false;
+                    employeeLeaderboard.endUpdate();
+                    customerLeaderboard.endUpdate();
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Porzioni per piatto: un piatto compare nell'ordine una volta per porzione
+    private static Map<Long, Integer> portions(Order order) {
+        Map<Long, Integer> portions = new HashMap<>();
+        for (Dish dish : order.getPlates()) {
+            if (dish == null || dish.getId() == null) {
+                throw new IllegalArgumentException(Constants.NULL_OR_EMPTY_PARAMETER);
+            }
+            portions.merge(dish.getId(), 1, Integer::sum);
+        }
+        return portions;
+    }
+}
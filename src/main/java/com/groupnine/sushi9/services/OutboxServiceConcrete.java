@@ -0,0 +1,157 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.OutboxMessage;
+import com.groupnine.sushi9.model.OutboxAggregate;
+import com.groupnine.sushi9.model.OutboxEvent;
+import com.groupnine.sushi9.repositories.OutboxEventRepository;
+import com.groupnine.sushi9.services.interfaces.OutboxService;
+import com.groupnine.sushi9.services.support.OutboxSink;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concrete implementation of the {@link OutboxService} interface.
+ * The publisher reads a batch, hands it to the sink outside any transaction and
+ * then deletes it: a crash in between publishes the batch again, never loses it.
+ * A batch takes only the lowest pending sequence of each aggregate, so an event
+ * is never published before an earlier event of the same aggregate.
+ * One publisher per instance; running several instances needs a lock on the batch.
+ */
+@Service
+@Transactional
+public class OutboxServiceConcrete implements OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sushi9.outbox.batch-size:200}")
+    private int batchSize;
+
+    // Limite di batch per esecuzione, per non occupare lo scheduler con un arretrato lungo
+    @Value("${sushi9.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    private static final String INSERT_AGGREGATE =
+            "INSERT INTO OUTBOX_AGGREGATE (AGGREGATE_TYPE, AGGREGATE_ID, LAST_SEQUENCE) VALUES (?, ?, 0)";
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final ReentrantLock publishing = new ReentrantLock();
+
+    protected OutboxServiceConcrete() { }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, String aggregateId, String eventType, Object payload) {
+        // Il lock sul contatore serializza gli eventi dello stesso aggregato: la sequenza
+        // segue l'ordine di commit, cosa che l'id dal sequence con pool non garantisce
+        OutboxAggregate.Key key = new OutboxAggregate.Key(aggregateType, aggregateId);
+        OutboxAggregate aggregate = entityManager.find(OutboxAggregate.class, key, LockModeType.PESSIMISTIC_WRITE);
+        if (aggregate == null) {
+            // Senza riga il lock non prende nulla: la si crea, e se un'altra transazione
+            // l'ha creata per prima si scarta il duplicato e la si rilegge bloccata
+            entityManager.unwrap(Session.class).doWork(connection -> insertAggregate(connection, key));
+            aggregate = entityManager.find(OutboxAggregate.class, key, LockModeType.PESSIMISTIC_WRITE);
+        }
+        // persist diretto: niente merge, e l'insert va nel batch JDBC della transazione
+        entityManager.persist(new OutboxEvent(aggregateType, aggregateId, aggregate.nextSequence(), eventType,
+                jsonMapper.writeValueAsString(payload)));
+    }
+
+    // Il savepoint tiene valida la transazione del chiamante anche quando l'insert fallisce
+    private static void insertAggregate(Connection connection, OutboxAggregate.Key key) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_AGGREGATE)) {
+            insert.setString(1, key.aggregateType());
+            insert.setString(2, key.aggregateId());
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            connection.rollback(savepoint);
+            if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw e;
+            }
+            return;
+        }
+        connection.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sushi9.outbox.poll-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int publishPending() {
+        if (!publishing.tryLock()) {
+            return 0;
+        }
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int published = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<OutboxEvent> events = transaction.execute(status ->
+                        outboxEventRepository.findNextPerAggregate(Limit.of(batchSize)));
+                if (events == null || events.isEmpty()) {
+                    break;
+                }
+
+                List<OutboxMessage> messages = new ArrayList<>(events.size());
+                List<Long> ids = new ArrayList<>(events.size());
+                for (OutboxEvent event : events) {
+                    messages.add(OutboxMessage.from(event));
+                    ids.add(event.getId());
+                }
+
+                try {
+                    sink.publish(messages);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Outbox sink failed", e);
+                }
+
+                transaction.executeWithoutResult(status -> outboxEventRepository.deleteByIdIn(ids));
+                // Un batch corto non vuol dire coda vuota: restano i successivi degli stessi aggregati
+                published += events.size();
+            }
+            return published;
+        } finally {
+            publishing.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return outboxEventRepository.count();
+    }
+}
@@ -1,15 +1,56 @@
 package com.groupnine.sushi9.services;
 
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.CustomerDto;
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.dto.KitchenTicket;
+import com.groupnine.sushi9.dto.MenuItem;
+import com.groupnine.sushi9.dto.MenuSnapshot;
+import com.groupnine.sushi9.dto.SalaryStats;
+import com.groupnine.sushi9.dto.StockReservation;
 import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.DailyDishSales;
+import com.groupnine.sushi9.model.DailyEmployeeSales;
+import com.groupnine.sushi9.model.DailyTableSales;
+import com.groupnine.sushi9.model.Dish;
 import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.model.Ingredient;
+import com.groupnine.sushi9.model.KitchenStation;
 import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderHistory;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.repositories.projections.EmployeeSummary;
+import com.groupnine.sushi9.repositories.projections.IngredientStock;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
 import com.groupnine.sushi9.services.interfaces.CustomerService;
+import com.groupnine.sushi9.services.interfaces.DishStockService;
 import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import com.groupnine.sushi9.services.interfaces.InventoryService;
+import com.groupnine.sushi9.services.interfaces.KitchenService;
+import com.groupnine.sushi9.services.interfaces.MenuService;
+import com.groupnine.sushi9.services.interfaces.OrderService;
+import com.groupnine.sushi9.services.interfaces.OutboxService;
+import com.groupnine.sushi9.services.interfaces.SalesReportService;
+import com.groupnine.sushi9.services.interfaces.TableService;
+import com.groupnine.sushi9.services.support.EntityCache;
+import com.groupnine.sushi9.services.support.EntityCache.CacheStats;
+import com.groupnine.sushi9.utils.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Facade class that provides a unified interface to the restaurant system.
@@ -24,7 +65,40 @@ public class RestaurantFacade {
     @Autowired
     private CustomerService customerService;
 
-    // Altri servizi verranno aggiunti in seguito (OrderService, MenuService, etc.)
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DishStockService dishStockService;
+
+    @Autowired
+    private TableService tableService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private KitchenService kitchenService;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EntityCache<CustomerDto> customerCache;
+
+    @Autowired
+    private EntityCache<EmployeeDto> employeeCache;
+
+    // Report pesanti: eseguiti fuori dal thread chiamante, letti dal replica se configurato
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor reportExecutor;
 
     // ============= EMPLOYEE OPERATIONS =============
 
@@ -35,10 +109,17 @@ public class RestaurantFacade {
         return employeeService.createEmployee(employee);
     }
 
+    /**
+     * Creates many employees at once, reporting rejected rows
+     */
+    public BatchResult createEmployees(Collection<Employee> employees) {
+        return employeeService.createEmployees(employees);
+    }
+
     /**
      * Gets employee by tax code
      */
-    public Employee getEmployee(String taxCode) {
+    public EmployeeDto getEmployee(String taxCode) {
         return employeeService.getEmployeeById(taxCode);
     }
 
@@ -49,6 +130,20 @@ public class RestaurantFacade {
         return employeeService.getAllEmployees();
     }
 
+    /**
+     * Gets a page of employees following the given tax code
+     */
+    public List<Employee> getEmployeesPage(String afterTaxCode, int pageSize) {
+        return employeeService.getEmployeesPage(afterTaxCode, pageSize);
+    }
+
+    /**
+     * Streams all employees, one page at a time
+     */
+    public Stream<Employee> streamAllEmployees() {
+        return employeeService.streamAllEmployees(Constants.DEFAULT_PAGE_SIZE);
+    }
+
     /**
      * Updates an employee
      */
@@ -70,6 +165,20 @@ public class RestaurantFacade {
         return employeeService.findEmployeesByJobTitle(jobTitle);
     }
 
+    /**
+     * Finds employees by job title, as read-only summaries
+     */
+    public List<EmployeeSummary> findEmployeeSummariesByJobTitle(String jobTitle) {
+        return employeeService.findSummariesByJobTitle(jobTitle);
+    }
+
+    /**
+     * Gets a page of employee summaries following the given tax code
+     */
+    public List<EmployeeSummary> getEmployeeSummariesPage(String afterTaxCode, int pageSize) {
+        return employeeService.getEmployeeSummariesPage(afterTaxCode, pageSize);
+    }
+
     /**
      * Finds employees hired after a specific date
      */
@@ -87,10 +196,52 @@ public class RestaurantFacade {
     /**
      * Finds employees with salary greater than specified amount
      */
-    public List<Employee> findEmployeesByMinSalary(float minSalary) {
+    public List<Employee> findEmployeesByMinSalary(double minSalary) {
         return employeeService.findBySalaryGreaterThan(minSalary);
     }
 
+    /**
+     * Counts employees with salary greater than specified amount
+     */
+    public int countEmployeesByMinSalary(double minSalary) {
+        return employeeService.countBySalaryGreaterThan(minSalary);
+    }
+
+    /**
+     * Gets the salary distribution of all employees
+     */
+    public SalaryStats getSalaryStats() {
+        return employeeService.getSalaryStats();
+    }
+
+    /**
+     * Gets the salary at a given percentile (0-100)
+     */
+    public double getSalaryPercentile(double percentile) {
+        return employeeService.getSalaryPercentile(percentile);
+    }
+
+    /**
+     * Gets the salary distribution for each job title
+     */
+    public Map<String, SalaryStats> getSalaryStatsByJobTitle() {
+        return employeeService.getSalaryStatsByJobTitle();
+    }
+
+    /**
+     * Gets the employee who managed the most orders
+     */
+    public EmployeeDto getEmployeeWithMostOrders() {
+        return employeeService.findEmployeeWithMostOrders();
+    }
+
+    /**
+     * Gets the k employees who managed the most orders
+     */
+    public List<OrderCount> getTopEmployeesByOrderCount(int k) {
+        return employeeService.findTopEmployeesByOrderCount(k);
+    }
+
     /**
      * Gets orders managed by a specific employee
      */
@@ -105,6 +256,14 @@ public class RestaurantFacade {
         return employeeService.findEmployeesWhoManagedOrdersForCustomer(customerTaxCode);
     }
 
+    /**
+     * Finds employees who managed orders for a specific customer, without blocking the caller
+     */
+    public CompletableFuture<List<Employee>> findEmployeesForCustomerAsync(String customerTaxCode) {
+        return CompletableFuture.supplyAsync(
+                () -> employeeService.findEmployeesWhoManagedOrdersForCustomer(customerTaxCode), reportExecutor);
+    }
+
     // ============= CUSTOMER OPERATIONS =============
 
     /**
@@ -114,10 +273,17 @@ public class RestaurantFacade {
         return customerService.createCustomer(customer);
     }
 
+    /**
+     * Creates many customers at once, reporting rejected rows
+     */
+    public BatchResult createCustomers(Collection<Customer> customers) {
+        return customerService.createCustomers(customers);
+    }
+
     /**
      * Gets customer by tax code
      */
-    public Customer getCustomer(String taxCode) {
+    public CustomerDto getCustomer(String taxCode) {
         return customerService.getCustomerById(taxCode);
     }
 
@@ -128,6 +294,20 @@ public class RestaurantFacade {
         return customerService.getAllCustomers();
     }
 
+    /**
+     * Gets a page of customers following the given tax code
+     */
+    public List<Customer> getCustomersPage(String afterTaxCode, int pageSize) {
+        return customerService.getCustomersPage(afterTaxCode, pageSize);
+    }
+
+    /**
+     * Streams all customers, one page at a time
+     */
+    public Stream<Customer> streamAllCustomers() {
+        return customerService.streamAllCustomers(Constants.DEFAULT_PAGE_SIZE);
+    }
+
     /**
      * Updates a customer
      */
@@ -145,17 +325,45 @@ public class RestaurantFacade {
     /**
      * Finds customer by email
      */
-    public Customer findCustomerByEmail(String email) {
+    public CustomerDto findCustomerByEmail(String email) {
         return customerService.findByEmail(email);
     }
 
     /**
      * Finds customer by phone number
      */
-    public Customer findCustomerByPhone(String phoneNumber) {
+    public CustomerDto findCustomerByPhone(String phoneNumber) {
         return customerService.findByPhoneNumber(phoneNumber);
     }
 
+    /**
+     * Searches customers by first name, as read-only summaries
+     */
+    public List<CustomerSummary> searchCustomersByFirstName(String firstName) {
+        return customerService.findSummariesByFirstName(firstName);
+    }
+
+    /**
+     * Searches customers by last name, as read-only summaries
+     */
+    public List<CustomerSummary> searchCustomersByLastName(String lastName) {
+        return customerService.findSummariesByLastName(lastName);
+    }
+
+    /**
+     * Searches customers by name prefix, best matches first
+     */
+    public List<CustomerSummary> searchCustomersByName(String query) {
+        return customerService.searchByName(query, Constants.DEFAULT_SEARCH_LIMIT);
+    }
+
+    /**
+     * Gets a page of customer summaries following the given tax code
+     */
+    public List<CustomerSummary> getCustomerSummariesPage(String afterTaxCode, int pageSize) {
+        return customerService.getCustomerSummariesPage(afterTaxCode, pageSize);
+    }
+
     /**
      * Gets orders for a specific customer
      */
@@ -170,4 +378,375 @@ public class RestaurantFacade {
         return customerService.findCustomersWithOrdersManagedByEmployee(employeeTaxCode);
     }
 
+    /**
+     * Finds customers with orders managed by a specific employee, without blocking the caller
+     */
+    public CompletableFuture<List<Customer>> findCustomersForEmployeeAsync(String employeeTaxCode) {
+        return CompletableFuture.supplyAsync(
+                () -> customerService.findCustomersWithOrdersManagedByEmployee(employeeTaxCode), reportExecutor);
+    }
+
+    /**
+     * Finds customers with orders between two dates
+     */
+    public List<Customer> findCustomersWithOrdersBetweenDates(LocalDate startDate, LocalDate endDate) {
+        return customerService.findCustomersWithOrdersBetweenDates(startDate, endDate);
+    }
+
+    /**
+     * Finds customers with orders between two dates, without blocking the caller
+     */
+    public CompletableFuture<List<Customer>> findCustomersWithOrdersBetweenDatesAsync(LocalDate startDate,
+                                                                                    LocalDate endDate) {
+        return CompletableFuture.supplyAsync(
+                () -> customerService.findCustomersWithOrdersBetweenDates(startDate, endDate), reportExecutor);
+    }
+
+    /**
+     * Streams customers with orders between two dates, one page at a time
+     */
+    public Stream<Customer> streamCustomersWithOrdersBetweenDates(LocalDate startDate, LocalDate endDate) {
+        return customerService.streamCustomersWithOrdersBetweenDates(startDate, endDate, Constants.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Gets the customer with the most orders
+     */
+    public CustomerDto getCustomerWithMostOrders() {
+        return customerService.findCustomerWithMostOrders();
+    }
+
+    /**
+     * Gets the k customers with the most orders
+     */
+    public List<OrderCount> getTopCustomersByOrderCount(int k) {
+        return customerService.findTopCustomersByOrderCount(k);
+    }
+
+    // ============= ORDER OPERATIONS =============
+
+    /**
+     * Creates a new open order
+     */
+    public Order createOrder(Order order) {
+        return orderService.createOrder(order);
+    }
+
+    /**
+     * Creates a new open order from the ids of table, employee, customers and dishes
+     */
+    public Order createOrder(long tableId, String employeeTaxCode, List<String> customerTaxCodes, List<Long> dishIds) {
+        return orderService.createOrder(tableId, employeeTaxCode, customerTaxCodes, dishIds);
+    }
+
+    /**
+     * Gets order by id
+     */
+    public Order getOrder(long id) {
+        return orderService.getOrderById(id);
+    }
+
+    /**
+     * Gets all orders in a given state
+     */
+    public List<Order> getOrdersByState(OrderState state) {
+        return orderService.getOrdersByState(state);
+    }
+
+    /**
+     * Sends an open order to the kitchen
+     */
+    public void sendOrderToKitchen(long id) {
+        orderService.sendToKitchen(id);
+    }
+
+    /**
+     * Marks an order as served
+     */
+    public void serveOrder(long id) {
+        orderService.serve(id);
+    }
+
+    /**
+     * Marks an order as paid
+     */
+    public void payOrder(long id) {
+        orderService.pay(id);
+    }
+
+    /**
+     * Deletes an order that has not been paid
+     */
+    public void deleteOrder(long id) {
+        orderService.deleteOrder(id);
+    }
+
+    /**
+     * Gets the orders created between two days
+     */
+    public List<Order> getOrdersBetweenDates(LocalDate startDate, LocalDate endDate) {
+        return orderService.getOrdersBetweenDates(startDate, endDate);
+    }
+
+    /**
+     * Gets the archived orders created between two days
+     */
+    public List<OrderHistory> getOrderHistoryBetweenDates(LocalDate startDate, LocalDate endDate) {
+        return orderService.getOrderHistoryBetweenDates(startDate, endDate);
+    }
+
+    /**
+     * Archives the paid orders of the days before the cutoff
+     */
+    public int archiveOrdersBefore(LocalDate cutoff) {
+        return orderService.archiveOrdersBefore(cutoff);
+    }
+
+    // ============= TABLE OPERATIONS =============
+
+    /**
+     * Adds a new table
+     */
+    public RestaurantTable createTable(int numSeats) {
+        return tableService.createTable(numSeats);
+    }
+
+    /**
+     * Gets all tables
+     */
+    public List<RestaurantTable> getAllTables() {
+        return tableService.getAllTables();
+    }
+
+    /**
+     * Seats a party at the smallest free table with enough seats
+     */
+    public RestaurantTable seatParty(int guests) {
+        return tableService.seatParty(guests);
+    }
+
+    /**
+     * Marks a specific table as occupied
+     */
+    public void occupyTable(long tableId) {
+        tableService.occupyTable(tableId);
+    }
+
+    /**
+     * Frees an occupied table
+     */
+    public void releaseTable(long tableId) {
+        tableService.releaseTable(tableId);
+    }
+
+    /**
+     * Counts free tables with at least the given number of seats
+     */
+    public int countFreeTables(int minSeats) {
+        return tableService.countFreeTables(minSeats);
+    }
+
+    // ============= STOCK OPERATIONS =============
+
+    /**
+     * Reserves portions of dishes (by dish id), all or nothing
+     */
+    public StockReservation reserveDishes(Map<Long, Integer> quantities) {
+        return dishStockService.reserve(quantities);
+    }
+
+    /**
+     * Adds portions to the stock of a dish
+     */
+    public void restockDish(long dishId, int portions) {
+        dishStockService.restock(Map.of(dishId, portions));
+    }
+
+    /**
+     * Gives the portions of a reservation back to stock
+     */
+    public void releaseReservation(UUID reservationId) {
+        dishStockService.release(reservationId);
+    }
+
+    /**
+     * Confirms a reservation, consuming its portions
+     */
+    public void commitReservation(UUID reservationId) {
+        dishStockService.commit(reservationId);
+    }
+
+    // ============= MENU OPERATIONS =============
+
+    /**
+     * Gets the current menu, served from memory
+     */
+    public MenuSnapshot getMenu() {
+        return menuService.getMenu();
+    }
+
+    /**
+     * Gets a dish of the current menu
+     */
+    public MenuItem getMenuItem(long dishId) {
+        return menuService.getMenuItem(dishId);
+    }
+
+    /**
+     * Gets the dishes with all the required ingredients and none of the excluded ones
+     */
+    public List<MenuItem> filterMenu(Collection<Long> requiredIngredientIds, Collection<Long> excludedIngredientIds) {
+        return menuService.filterMenu(requiredIngredientIds, excludedIngredientIds);
+    }
+
+    /**
+     * Adds a new dish to the menu
+     */
+    public Dish createDish(Dish dish) {
+        return menuService.createDish(dish);
+    }
+
+    /**
+     * Updates a dish of the menu
+     */
+    public Dish updateDish(long dishId, Dish changes) {
+        return menuService.updateDish(dishId, changes);
+    }
+
+    /**
+     * Adds a new ingredient
+     */
+    public Ingredient createIngredient(Ingredient ingredient) {
+        return menuService.createIngredient(ingredient);
+    }
+
+    /**
+     * Adds an ingredient to a dish, with the quantity used by one portion
+     */
+    public Dish addIngredientToDish(long dishId, long ingredientId, double quantity) {
+        return menuService.addIngredientToDish(dishId, ingredientId, quantity);
+    }
+
+    /**
+     * Removes an ingredient from a dish
+     */
+    public Dish removeIngredientFromDish(long dishId, long ingredientId) {
+        return menuService.removeIngredientFromDish(dishId, ingredientId);
+    }
+
+    // ============= KITCHEN OPERATIONS =============
+
+    /**
+     * Gets the waiting tickets of a kitchen station, most urgent first
+     */
+    public List<KitchenTicket> getKitchenQueue(KitchenStation station, int limit) {
+        return kitchenService.getQueue(station, limit);
+    }
+
+    /**
+     * Starts the most urgent waiting ticket of a kitchen station
+     */
+    public Optional<KitchenTicket> startNextTicket(KitchenStation station) {
+        return kitchenService.startNext(station);
+    }
+
+    /**
+     * Marks a kitchen ticket as done
+     */
+    public KitchenTicket completeTicket(long ticketId) {
+        return kitchenService.completeTicket(ticketId);
+    }
+
+    /**
+     * Opens an event stream for a kitchen display
+     */
+    public SseEmitter subscribeKitchenDisplay(KitchenStation station) {
+        return kitchenService.subscribe(station);
+    }
+
+    // ============= INVENTORY OPERATIONS =============
+
+    /**
+     * Adds a quantity to the stock of an ingredient
+     */
+    public void restockIngredient(long ingredientId, double amount) {
+        inventoryService.restock(ingredientId, amount);
+    }
+
+    /**
+     * Sets stock and low-stock threshold of an ingredient
+     */
+    public void setIngredientStockLevel(long ingredientId, double stock, double lowStockThreshold) {
+        inventoryService.setStockLevel(ingredientId, stock, lowStockThreshold);
+    }
+
+    /**
+     * Gets the ingredients running out, the most depleted first
+     */
+    public List<IngredientStock> getLowStockIngredients() {
+        return inventoryService.getLowStockIngredients();
+    }
+
+    // ============= SALES REPORTS =============
+
+    /**
+     * Gets portions sold and revenue per dish and day
+     */
+    public List<DailyDishSales> getDishSales(LocalDate startDate, LocalDate endDate) {
+        return salesReportService.getDishSales(startDate, endDate);
+    }
+
+    /**
+     * Gets orders and revenue per employee and day
+     */
+    public List<DailyEmployeeSales> getEmployeeSales(LocalDate startDate, LocalDate endDate) {
+        return salesReportService.getEmployeeSales(startDate, endDate);
+    }
+
+    /**
+     * Gets orders and revenue per table and day
+     */
+    public List<DailyTableSales> getTableSales(LocalDate startDate, LocalDate endDate) {
+        return salesReportService.getTableSales(startDate, endDate);
+    }
+
+    /**
+     * Recomputes the sales rollups of a day from its orders
+     */
+    public void rebuildSalesDay(LocalDate day) {
+        salesReportService.rebuildDay(day);
+    }
+
+    // ============= CHANGE EVENTS =============
+
+    /**
+     * Counts the change events not yet handed to the outbox sink
+     */
+    public long countPendingEvents() {
+        return outboxService.countPending();
+    }
+
+    /**
+     * Publishes the pending change events now instead of waiting for the next run
+     */
+    public int publishPendingEvents() {
+        return outboxService.publishPending();
+    }
+
+    // ============= CACHE STATISTICS =============
+
+    /**
+     * Gets hit/miss/eviction counters of the customer cache
+     */
+    public CacheStats getCustomerCacheStats() {
+        return customerCache.stats();
+    }
+
+    /**
+     * Gets hit/miss/eviction counters of the employee cache
+     */
+    public CacheStats getEmployeeCacheStats() {
+        return employeeCache.stats();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.model.DailyDishSales;
+import com.groupnine.sushi9.model.DailyEmployeeSales;
+import com.groupnine.sushi9.model.DailyTableSales;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.OrderHistory;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.model.PendingSale;
+import com.groupnine.sushi9.repositories.DailyDishSalesRepository;
+import com.groupnine.sushi9.repositories.DailyEmployeeSalesRepository;
+import com.groupnine.sushi9.repositories.DailyTableSalesRepository;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.OrderHistoryRepository;
+import com.groupnine.sushi9.repositories.OrderRepository;
+import com.groupnine.sushi9.repositories.PendingSaleRepository;
+import com.groupnine.sushi9.repositories.projections.SaleLine;
+import com.groupnine.sushi9.services.interfaces.SalesReportService;
+import com.groupnine.sushi9.services.support.SalesRollupBuffer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concrete implementation of the {@link SalesReportService} interface.
+ * Paid orders are queued in PENDING_SALE by the paying transaction. Each flush
+ * takes a batch of them, collapses their lines into one additive update per rollup
+ * row (inserting the row when the day has none yet) and removes them from the queue
+ * in the same transaction.
+ */
+@Service
+@Transactional
+public class SalesReportServiceConcrete implements SalesReportService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private DailyDishSalesRepository dishSalesRepository;
+
+    @Autowired
+    private DailyEmployeeSalesRepository employeeSalesRepository;
+
+    @Autowired
+    private DailyTableSalesRepository tableSalesRepository;
+
+    @Autowired
+    private PendingSaleRepository pendingSaleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Ordini pagati sommati ai riepiloghi per ogni transazione del flush
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    // Flush e ricostruzioni non devono scrivere le stesse righe in parallelo
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    protected SalesReportServiceConcrete() { }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPaidOrder(long orderId) {
+        // Scritto con il pagamento: se la transazione fallisce l'ordine non viene contato
+        entityManager.persist(new PendingSale(orderId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sushi9.rollup.flush-ms:10000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int flush() {
+        writeLock.lock();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int written = 0;
+            Integer batch;
+            // Un errore annulla solo il blocco corrente: i suoi ordini restano in coda
+            while ((batch = transaction.execute(status -> flushBatch())) != null) {
+                written += batch;
+            }
+            return written;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Somma ai riepiloghi un blocco di ordini in coda e li toglie dalla coda; null se è vuota
+    private Integer flushBatch() {
+        List<PendingSale> pending = pendingSaleRepository.findByOrderByOrderIdAsc(Limit.of(FLUSH_BATCH_SIZE));
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        List<Long> orderIds = new ArrayList<>(pending.size());
+        for (PendingSale sale : pending) {
+            orderIds.add(sale.getOrderId());
+        }
+        SalesRollupBuffer deltas = new SalesRollupBuffer();
+        deltas.add(orderRepository.findSaleLinesByIdIn(orderIds));
+        pendingSaleRepository.deleteByOrderIdIn(orderIds);
+        return apply(deltas.drain());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildDay(LocalDate day) throws IllegalArgumentException {
+        if (day == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+
+        writeLock.lock();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                SalesRollupBuffer rebuilt = new SalesRollupBuffer();
+                List<SaleLine> lines = orderRepository.findSaleLinesByOrderDateAndState(day, OrderState.PAID);
+                rebuilt.add(lines);
+                addArchivedOrders(day, rebuilt);
+
+                // Gli ordini letti qui escono dalla coda nella stessa transazione; quelli pagati
+                // dopo la lettura restano in coda e li somma il flush successivo, una volta sola
+                Set<Long> orderIds = new LinkedHashSet<>();
+                for (SaleLine line : lines) {
+                    orderIds.add(line.orderId());
+                }
+                if (!orderIds.isEmpty()) {
+                    pendingSaleRepository.deleteByOrderIdIn(orderIds);
+                }
+
+                dishSalesRepository.deleteByDay(day);
+                employeeSalesRepository.deleteByDay(day);
+                tableSalesRepository.deleteByDay(day);
+                apply(rebuilt.drain());
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyDishSales> getDishSales(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
+        checkRange(startDate, endDate);
+        return dishSalesRepository.findByIdDayBetweenOrderByIdDayAsc(startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyEmployeeSales> getEmployeeSales(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
+        checkRange(startDate, endDate);
+        return employeeSalesRepository.findByIdDayBetweenOrderByIdDayAsc(startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyTableSales> getTableSales(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
+        checkRange(startDate, endDate);
+        return tableSalesRepository.findByIdDayBetweenOrderByIdDayAsc(startDate, endDate);
+    }
+
+    // Lo storico conserva il totale dell'ordine ma non i prezzi dei singoli piatti
+    private void addArchivedOrders(LocalDate day, SalesRollupBuffer rebuilt) {
+        List<OrderHistory> archived = orderHistoryRepository.findByOrderDateBetweenOrderByOrderDateAsc(day, day);
+        List<Long> dishIds = new ArrayList<>();
+        for (OrderHistory history : archived) {
+            rebuilt.addOrder(day, history.getEmployeeTaxCode(), history.getTableId(), history.getTotal());
+            if (!history.getDishIds().isEmpty()) {
+                for (String dishId : history.getDishIds().split(",")) {
+                    dishIds.add(Long.parseLong(dishId));
+                }
+            }
+        }
+
+        Map<Long, Double> prices = new HashMap<>();
+        for (Dish dish : dishRepository.findAllById(dishIds)) {
+            prices.put(dish.getId(), dish.getPrice());
+        }
+        for (Long dishId : dishIds) {
+            rebuilt.addDish(day, dishId, prices.getOrDefault(dishId, 0.0));
+        }
+    }
+
+    private int apply(SalesRollupBuffer.Snapshot snapshot) {
+        int written = 0;
+        for (Map.Entry<DailyDishSales.Key, SalesRollupBuffer.Totals> entry : snapshot.dishes().entrySet()) {
+            DailyDishSales.Key key = entry.getKey();
+            SalesRollupBuffer.Totals totals = entry.getValue();
+            if (dishSalesRepository.addTo(key.day(), key.dishId(), totals.count(), totals.revenue()) == 0) {
+                entityManager.persist(new DailyDishSales(key, totals.count(), totals.revenue()));
+            }
+            written++;
+        }
+        for (Map.Entry<DailyEmployeeSales.Key, SalesRollupBuffer.Totals> entry : snapshot.employees().entrySet()) {
+            DailyEmployeeSales.Key key = entry.getKey();
+            SalesRollupBuffer.Totals totals = entry.getValue();
+            if (employeeSalesRepository.addTo(key.day(), key.employeeTaxCode(), totals.count(), totals.revenue()) == 0) {
+                entityManager.persist(new DailyEmployeeSales(key, totals.count(), totals.revenue()));
+            }
+            written++;
+        }
+        for (Map.Entry<DailyTableSales.Key, SalesRollupBuffer.Totals> entry : snapshot.tables().entrySet()) {
+            DailyTableSales.Key key = entry.getKey();
+            SalesRollupBuffer.Totals totals = entry.getValue();
+            if (tableSalesRepository.addTo(key.day(), key.tableId(), totals.count(), totals.revenue()) == 0) {
+                entityManager.persist(new DailyTableSales(key, totals.count(), totals.revenue()));
+            }
+            written++;
+        }
+        return written;
+    }
+
+    private void checkRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+    }
+}
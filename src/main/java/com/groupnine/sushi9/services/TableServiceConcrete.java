@@ -0,0 +1,157 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.model.TableState;
+import com.groupnine.sushi9.repositories.RestaurantTableRepository;
+import com.groupnine.sushi9.services.interfaces.TableService;
+import com.groupnine.sushi9.services.support.TableOccupancyMap;
+import com.groupnine.sushi9.services.support.TableOccupancyMap.TableSlot;
+import com.groupnine.sushi9.utils.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Concrete implementation of the {@link TableService} interface.
+ * A table is first claimed in the in-memory {@link TableOccupancyMap}, then
+ * confirmed with a conditional update on the table row; the claim is undone
+ * if the transaction does not commit. New tables are added to the map in place
+ * and releases always go to the current map, so no release is lost to a rebuild.
+ * No method is read-only: table state is never read from a lagging replica.
+ */
+@Service
+@Transactional
+public class TableServiceConcrete implements TableService {
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    private volatile TableOccupancyMap occupancy = new TableOccupancyMap(List.of());
+
+    protected TableServiceConcrete() { }
+
+    @Override
+    public RestaurantTable createTable(int numSeats) throws IllegalArgumentException {
+        if (numSeats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be greater than 0");
+        }
+
+        RestaurantTable table = new RestaurantTable();
+        table.setNumSeats(numSeats);
+        table.setState(TableState.FREE);
+        RestaurantTable saved = tableRepository.save(table);
+
+        // Aggiunto alla mappa corrente dopo il commit, senza ricostruirla
+        afterCommit(() -> occupancy.add(new TableSlot(saved.getId(), saved.getNumSeats(), true)));
+        return saved;
+    }
+
+    @Override
+    public RestaurantTable getTableById(long id) throws IllegalArgumentException {
+        Optional<RestaurantTable> table = tableRepository.findById(id);
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException(Constants.NO_TABLE_WITH_ID + id);
+        }
+
+        return table.get();
+    }
+
+    @Override
+    public List<RestaurantTable> getAllTables() {
+        return tableRepository.findAll();
+    }
+
+    @Override
+    public RestaurantTable seatParty(int guests) throws IllegalArgumentException {
+        if (guests <= 0) {
+            throw new IllegalArgumentException("Number of guests must be greater than 0");
+        }
+
+        TableOccupancyMap map = occupancy;
+        long tableId;
+        while ((tableId = map.claimSmallest(guests)) >= 0) {
+            if (tableRepository.updateState(tableId, TableState.FREE, TableState.OCCUPIED) == 1) {
+                releaseOnRollback(tableId);
+                return getTableById(tableId);
+            }
+            // Il database dice già occupato (es. modificato da un'altra istanza):
+            // il tavolo resta occupato anche in memoria e si prova il successivo
+        }
+
+        throw new IllegalArgumentException(Constants.NO_FREE_TABLE + guests);
+    }
+
+    @Override
+    public void occupyTable(long id) throws IllegalArgumentException {
+        if (!occupancy.claim(id)) {
+            getTableById(id);
+            throw new IllegalArgumentException(Constants.TABLE_OCCUPIED);
+        }
+
+        if (tableRepository.updateState(id, TableState.FREE, TableState.OCCUPIED) == 0) {
+            throw new IllegalArgumentException(Constants.TABLE_OCCUPIED);
+        }
+        releaseOnRollback(id);
+    }
+
+    @Override
+    public void releaseTable(long id) throws IllegalArgumentException {
+        if (tableRepository.updateState(id, TableState.OCCUPIED, TableState.FREE) == 0) {
+            getTableById(id);
+            throw new IllegalArgumentException(Constants.TABLE_NOT_OCCUPIED);
+        }
+
+        // Libera in memoria solo a commit avvenuto, così nessuno può prenderlo prima
+        afterCommit(() -> occupancy.release(id));
+    }
+
+    @Override
+    public int countFreeTables(int minSeats) {
+        return occupancy.countFree(minSeats);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOccupancy() {
+        List<TableSlot> slots = new ArrayList<>();
+        for (RestaurantTable table : tableRepository.findAll()) {
+            slots.add(new TableSlot(table.getId(), table.getNumSeats(), table.getstate() == TableState.FREE));
+        }
+        occupancy = new TableOccupancyMap(slots);
+    }
+
+    // Sempre sulla mappa corrente al momento del rollback, non su quella del claim
+    private void releaseOnRollback(long tableId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        occupancy.release(tableId);
+                    }
+                }
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.groupnine.sushi9.services.interfaces;
 
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.CustomerDto;
 import com.groupnine.sushi9.model.Customer;
 import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.repositories.projections.CustomerSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface for managing {@link Customer} entities.
@@ -19,14 +25,30 @@ public interface CustomerService {
      */
     Customer createCustomer(Customer customer) throws IllegalArgumentException;
 
+    /**
+     * Creates many customers at once.
+     * Each row is validated and checked for duplicates; invalid or duplicate rows
+     * are reported as rejects without aborting the import of the others.
+     * Rows are saved in chunks, each in its own transaction; a chunk that fails on a
+     * database constraint is retried row by row, so only the conflicting rows are rejected.
+     * Runs outside any caller transaction.
+     *
+     * @param customers the customers to create
+     * @return the number of imported rows and the rejected ones
+     * @throws IllegalArgumentException if the collection is null
+     */
+    BatchResult createCustomers(Collection<Customer> customers) throws IllegalArgumentException;
+
     /**
      * Finds a customer by taxCode.
+     * The result is an immutable snapshot, served from the cache when possible;
+     * use {@link #getCustomerOrders(String)} for the orders.
      *
      * @param taxCode the tax code of the customer
      * @return the customer with the specified taxCode
      * @throws IllegalArgumentException if taxCode is invalid or customer not found
      */
-    Customer getCustomerById(String taxCode) throws IllegalArgumentException;
+    CustomerDto getCustomerById(String taxCode) throws IllegalArgumentException;
 
     /**
      * Retrieves all customers.
@@ -35,6 +57,28 @@ public interface CustomerService {
      */
     List<Customer> getAllCustomers();
 
+    /**
+     * Retrieves a page of customers ordered by taxCode, using keyset pagination.
+     *
+     * @param afterTaxCode the last tax code of the previous page, or null for the first page
+     * @param pageSize the maximum number of customers to return
+     * @return the customers whose taxCode follows afterTaxCode
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    List<Customer> getCustomersPage(String afterTaxCode, int pageSize) throws IllegalArgumentException;
+
+    /**
+     * Streams all customers ordered by taxCode, loading one page at a time.
+     * Pages are read while the stream is consumed. Outside a transaction each page has its
+     * own and memory use stays bounded by the page size as long as the caller does not retain
+     * elements; inside a transaction pages join it and stay managed until it ends.
+     *
+     * @param pageSize the number of customers loaded per page
+     * @return a lazy stream over all customers
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    Stream<Customer> streamAllCustomers(int pageSize) throws IllegalArgumentException;
+
     /**
      * Updates an existing customer.
      *
@@ -57,19 +101,19 @@ public interface CustomerService {
      * Finds a customer by email.
      *
      * @param email the email to search for
-     * @return the customer with the specified email
+     * @return a snapshot of the customer with the specified email
      * @throws IllegalArgumentException if email is null or empty
      */
-    Customer findByEmail(String email) throws IllegalArgumentException;
+    CustomerDto findByEmail(String email) throws IllegalArgumentException;
 
     /**
      * Finds a customer by phone number.
      *
      * @param phoneNumber the phone number to search for
-     * @return the customer with the specified phone number
+     * @return a snapshot of the customer with the specified phone number
      * @throws IllegalArgumentException if phoneNumber is null or empty
      */
-    Customer findByPhoneNumber(String phoneNumber) throws IllegalArgumentException;
+    CustomerDto findByPhoneNumber(String phoneNumber) throws IllegalArgumentException;
 
     /**
      * Retrieves all orders placed by a specific customer.
@@ -107,6 +151,46 @@ public interface CustomerService {
      */
     List<Customer> findByLastNameContainingIgnoreCase(String lastName) throws IllegalArgumentException;
 
+    /**
+     * Searches customers by first name (case-insensitive), returning read-only summaries.
+     *
+     * @param firstName the text the first name must contain
+     * @return the matching customers, without their orders
+     * @throws IllegalArgumentException if firstName is null or empty
+     */
+    List<CustomerSummary> findSummariesByFirstName(String firstName) throws IllegalArgumentException;
+
+    /**
+     * Searches customers by last name (case-insensitive), returning read-only summaries.
+     *
+     * @param lastName the text the last name must contain
+     * @return the matching customers, without their orders
+     * @throws IllegalArgumentException if lastName is null or empty
+     */
+    List<CustomerSummary> findSummariesByLastName(String lastName) throws IllegalArgumentException;
+
+    /**
+     * Searches customers whose first or last name starts with the given text.
+     * Matching ignores case and accents; a two-word query matches "first last" in either order.
+     * Results are ranked with exact name matches first.
+     *
+     * @param query the name prefix to search for
+     * @param limit the maximum number of results
+     * @return the best matching customers, at most limit
+     * @throws IllegalArgumentException if query is null or blank, or limit is not positive
+     */
+    List<CustomerSummary> searchByName(String query, int limit) throws IllegalArgumentException;
+
+    /**
+     * Retrieves a page of customer summaries ordered by taxCode, using keyset pagination.
+     *
+     * @param afterTaxCode the last tax code of the previous page, or null for the first page
+     * @param pageSize the maximum number of customers to return
+     * @return the summaries of the customers whose taxCode follows afterTaxCode
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    List<CustomerSummary> getCustomerSummariesPage(String afterTaxCode, int pageSize) throws IllegalArgumentException;
+
     /**
      * Finds customers who placed orders in a specific date range.
      *
@@ -117,6 +201,20 @@ public interface CustomerService {
      */
     List<Customer> findCustomersWithOrdersBetweenDates(java.time.LocalDate startDate, java.time.LocalDate endDate) throws IllegalArgumentException;
 
+    /**
+     * Streams customers with orders between dates, ordered by tax code.
+     * Pages are loaded lazily with keyset pagination, as in {@link #streamAllCustomers(int)};
+     * the stream must be closed after use.
+     *
+     * @param startDate the start date
+     * @param endDate   the end date
+     * @param pageSize  the number of customers loaded per query
+     * @return a lazily loaded stream of customers
+     * @throws IllegalArgumentException if dates or page size are invalid
+     */
+    Stream<Customer> streamCustomersWithOrdersBetweenDates(java.time.LocalDate startDate, java.time.LocalDate endDate,
+                                                           int pageSize) throws IllegalArgumentException;
+
     /**
      * Checks if a customer exists by taxCode.
      *
@@ -135,7 +233,22 @@ public interface CustomerService {
     /**
      * Finds the customer with the most orders.
      *
-     * @return the customer with the highest number of orders
+     * @return a snapshot of the customer with the highest number of orders
+     */
+    CustomerDto findCustomerWithMostOrders();
+
+    /**
+     * Finds the customers with the most orders.
+     *
+     * @param k the number of customers to return
+     * @return the tax codes and order counts of the top k customers, best first
+     * @throws IllegalArgumentException if k is not positive
+     */
+    List<OrderCount> findTopCustomersByOrderCount(int k) throws IllegalArgumentException;
+
+    /**
+     * Rebuilds the in-memory order-count leaderboard from the database,
+     * counting both current and archived orders.
      */
-    Customer findCustomerWithMostOrders();
+    void rebuildLeaderboard();
 }
\ No newline at end of file
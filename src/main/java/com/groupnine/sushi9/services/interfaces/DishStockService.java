@@ -0,0 +1,69 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.dto.StockReservation;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Interface for reserving portions of {@link com.groupnine.sushi9.model.Dish} stock.
+ * A reservation decrements the available quantity immediately and atomically,
+ * so concurrent orders can never take more portions than are available.
+ */
+public interface DishStockService {
+
+    /**
+     * Reserves portions of one or more dishes, all or nothing.
+     *
+     * @param quantities the portions to reserve by dish id
+     * @return the reservation, to be committed or released
+     * @throws IllegalArgumentException if a dish is not found, a quantity is invalid
+     *                                  or there are not enough portions
+     */
+    StockReservation reserve(Map<Long, Integer> quantities) throws IllegalArgumentException;
+
+    /**
+     * Takes portions of one or more dishes out of stock for good, all or nothing,
+     * as part of the current transaction, e.g. the one creating an order.
+     *
+     * @param quantities the portions to take by dish id
+     * @throws IllegalArgumentException if a dish is not found, a quantity is invalid
+     *                                  or there are not enough portions
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no transaction
+     */
+    void take(Map<Long, Integer> quantities) throws IllegalArgumentException;
+
+    /**
+     * Adds portions to the stock of one or more dishes.
+     * This is the only way to raise the stock of an existing dish, so a restock
+     * never overwrites portions taken by concurrent orders.
+     *
+     * @param quantities the portions to add by dish id
+     * @throws IllegalArgumentException if a dish is not found or a quantity is invalid
+     */
+    void restock(Map<Long, Integer> quantities) throws IllegalArgumentException;
+
+    /**
+     * Gives the portions of a reservation back to stock.
+     *
+     * @param reservationId the id of the reservation
+     * @throws IllegalArgumentException if the reservation is not pending
+     */
+    void release(UUID reservationId) throws IllegalArgumentException;
+
+    /**
+     * Confirms a reservation: its portions are consumed and stay out of stock.
+     *
+     * @param reservationId the id of the reservation
+     * @throws IllegalArgumentException if the reservation is not pending
+     */
+    void commit(UUID reservationId) throws IllegalArgumentException;
+
+    /**
+     * Releases the reservations older than the configured time-to-live,
+     * each one in its own transaction.
+     *
+     * @return the number of released reservations
+     */
+    int releaseExpired();
+}
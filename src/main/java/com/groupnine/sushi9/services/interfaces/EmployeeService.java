@@ -1,8 +1,16 @@
 package com.groupnine.sushi9.services.interfaces;
 
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.dto.EmployeeDto;
+import com.groupnine.sushi9.dto.SalaryStats;
 import com.groupnine.sushi9.model.Employee;
 import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.repositories.projections.EmployeeSummary;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Interface for managing {@link Employee} entities.
@@ -19,14 +27,30 @@ public interface EmployeeService {
      */
     Employee createEmployee(Employee employee) throws IllegalArgumentException;
 
+    /**
+     * Creates many employees at once.
+     * Each row is validated and checked for duplicates; invalid or duplicate rows
+     * are reported as rejects without aborting the import of the others.
+     * Rows are saved in chunks, each in its own transaction; a chunk that fails on a
+     * database constraint is retried row by row, so only the conflicting rows are rejected.
+     * Runs outside any caller transaction.
+     *
+     * @param employees the employees to create
+     * @return the number of imported rows and the rejected ones
+     * @throws IllegalArgumentException if the collection is null
+     */
+    BatchResult createEmployees(Collection<Employee> employees) throws IllegalArgumentException;
+
     /**
      * Finds an employee by taxCode.
+     * The result is an immutable snapshot, served from the cache when possible;
+     * use {@link #getOrdersManagedByEmployee(String)} for the managed orders.
      *
      * @param taxCode the tax code of the employee
      * @return the employee with the specified taxCode
      * @throws IllegalArgumentException if taxCode is invalid or employee not found
      */
-    Employee getEmployeeById(String taxCode) throws IllegalArgumentException;
+    EmployeeDto getEmployeeById(String taxCode) throws IllegalArgumentException;
 
     /**
      * Retrieves all employees.
@@ -35,6 +59,28 @@ public interface EmployeeService {
      */
     List<Employee> getAllEmployees();
 
+    /**
+     * Retrieves a page of employees ordered by taxCode, using keyset pagination.
+     *
+     * @param afterTaxCode the last tax code of the previous page, or null for the first page
+     * @param pageSize the maximum number of employees to return
+     * @return the employees whose taxCode follows afterTaxCode
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    List<Employee> getEmployeesPage(String afterTaxCode, int pageSize) throws IllegalArgumentException;
+
+    /**
+     * Streams all employees ordered by taxCode, loading one page at a time.
+     * Pages are read while the stream is consumed. Outside a transaction each page has its
+     * own and memory use stays bounded by the page size as long as the caller does not retain
+     * elements; inside a transaction pages join it and stay managed until it ends.
+     *
+     * @param pageSize the number of employees loaded per page
+     * @return a lazy stream over all employees
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    Stream<Employee> streamAllEmployees(int pageSize) throws IllegalArgumentException;
+
     /**
      * Updates an existing employee.
      *
@@ -62,6 +108,25 @@ public interface EmployeeService {
      */
     List<Employee> findEmployeesByJobTitle(String jobTitle) throws IllegalArgumentException;
 
+    /**
+     * Finds employees by job title, returning read-only summaries.
+     *
+     * @param jobTitle the job title to search for
+     * @return the matching employees, without their managed orders
+     * @throws IllegalArgumentException if jobTitle is null or empty
+     */
+    List<EmployeeSummary> findSummariesByJobTitle(String jobTitle) throws IllegalArgumentException;
+
+    /**
+     * Retrieves a page of employee summaries ordered by taxCode, using keyset pagination.
+     *
+     * @param afterTaxCode the last tax code of the previous page, or null for the first page
+     * @param pageSize the maximum number of employees to return
+     * @return the summaries of the employees whose taxCode follows afterTaxCode
+     * @throws IllegalArgumentException if pageSize is not positive
+     */
+    List<EmployeeSummary> getEmployeeSummariesPage(String afterTaxCode, int pageSize) throws IllegalArgumentException;
+
     /**
      * Retrieves all orders managed by a specific employee.
      *
@@ -110,6 +175,28 @@ public interface EmployeeService {
      */
     Employee findEmployeeWithHighestSalary();
 
+    /**
+     * Finds the employee who managed the most orders.
+     *
+     * @return a snapshot of the employee with the highest number of managed orders
+     */
+    EmployeeDto findEmployeeWithMostOrders();
+
+    /**
+     * Finds the employees who managed the most orders.
+     *
+     * @param k the number of employees to return
+     * @return the tax codes and order counts of the top k employees, best first
+     * @throws IllegalArgumentException if k is not positive
+     */
+    List<OrderCount> findTopEmployeesByOrderCount(int k) throws IllegalArgumentException;
+
+    /**
+     * Rebuilds the in-memory order-count leaderboard from the database,
+     * counting both current and archived orders.
+     */
+    void rebuildLeaderboard();
+
     /**
      * Finds employees with salary greater than specified amount.
      *
@@ -117,6 +204,38 @@ public interface EmployeeService {
      * @return a list of employees with salary greater than the specified amount
      * @throws IllegalArgumentException if salary is invalid
      */
-    List<Employee> findBySalaryGreaterThan(float salary) throws IllegalArgumentException;
+    List<Employee> findBySalaryGreaterThan(double salary) throws IllegalArgumentException;
+
+    /**
+     * Computes the salary distribution of all employees.
+     *
+     * @return count, min, max, mean and percentile bands of the salaries
+     */
+    SalaryStats getSalaryStats();
+
+    /**
+     * Computes the salary at a given percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the salary at the percentile, or 0 if there are no employees
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    double getSalaryPercentile(double percentile) throws IllegalArgumentException;
+
+    /**
+     * Counts employees with salary greater than specified amount.
+     *
+     * @param salary the salary threshold
+     * @return the number of employees earning more than the threshold
+     * @throws IllegalArgumentException if salary is invalid
+     */
+    int countBySalaryGreaterThan(double salary) throws IllegalArgumentException;
+
+    /**
+     * Computes the salary distribution for each job title.
+     *
+     * @return the salary statistics by job title
+     */
+    Map<String, SalaryStats> getSalaryStatsByJobTitle();
 
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.repositories.projections.IngredientStock;
+
+import java.util.List;
+
+/**
+ * Interface for the ingredient inventory.
+ * Paid orders consume the ingredients of their dishes according to the recipes;
+ * ingredients at or below their threshold are tracked as low on stock.
+ * Only ingredients with a stock level are managed; the others are never deducted.
+ */
+public interface InventoryService {
+
+    /**
+     * Deducts the ingredients of all the dishes of an order.
+     * Stock may go below zero: the order has been served anyway. A negative level
+     * is kept as is, so the shortfall is visible, and reported as overdrawn.
+     *
+     * @param orderId the id of the paid order
+     * @return the number of ingredients updated
+     */
+    int deductForOrder(long orderId);
+
+    /**
+     * Adds a quantity to the stock of an ingredient.
+     *
+     * @throws IllegalArgumentException if the ingredient is not found or the amount is not positive
+     */
+    void restock(long ingredientId, double amount) throws IllegalArgumentException;
+
+    /**
+     * Sets the stock and the low-stock threshold of an ingredient, starting to manage it.
+     *
+     * @throws IllegalArgumentException if the ingredient is not found or a value is negative
+     */
+    void setStockLevel(long ingredientId, double stock, double lowStockThreshold) throws IllegalArgumentException;
+
+    /**
+     * Returns the ingredients at or below their threshold, the most depleted first;
+     * overdrawn ingredients (below zero) come first.
+     */
+    List<IngredientStock> getLowStockIngredients();
+
+    int getLowStockCount();
+
+    /**
+     * Returns the number of ingredients whose stock has gone below zero.
+     */
+    int getOverdrawnCount();
+
+    /**
+     * Reloads the low-stock ingredients from the database.
+     */
+    void rebuildLowStock();
+}
@@ -0,0 +1,70 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.dto.KitchenTicket;
+import com.groupnine.sushi9.model.KitchenStation;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for dispatching the dishes of orders sent to the kitchen.
+ * Every dish becomes a {@link KitchenTicket} on the queue of its station;
+ * displays follow their station through server-sent events.
+ */
+public interface KitchenService {
+
+    /**
+     * Queues a ticket for every dish of an order, once the current transaction commits.
+     *
+     * @param orderId the id of the order sent to the kitchen
+     * @throws IllegalArgumentException if the order is not found
+     */
+    void dispatchOrder(long orderId) throws IllegalArgumentException;
+
+    /**
+     * Removes the remaining tickets of an order, once the current transaction commits.
+     *
+     * @param orderId the id of the served or deleted order
+     */
+    void clearOrder(long orderId);
+
+    /**
+     * Starts the most urgent waiting ticket of a station.
+     *
+     * @param station the station
+     * @return the started ticket, empty if nothing is waiting
+     * @throws IllegalArgumentException if the station is null
+     */
+    Optional<KitchenTicket> startNext(KitchenStation station) throws IllegalArgumentException;
+
+    /**
+     * Marks a ticket as done, removing it from its station.
+     *
+     * @param ticketId the ticket id
+     * @return the completed ticket
+     * @throws IllegalArgumentException if the ticket is not found
+     */
+    KitchenTicket completeTicket(long ticketId) throws IllegalArgumentException;
+
+    /**
+     * Returns the waiting tickets of a station, most urgent first.
+     *
+     * @throws IllegalArgumentException if the station is null or the limit is not positive
+     */
+    List<KitchenTicket> getQueue(KitchenStation station, int limit) throws IllegalArgumentException;
+
+    /**
+     * Opens an event stream for a display of a station. The first event carries
+     * the tickets in progress and the head of the queue.
+     *
+     * @throws IllegalArgumentException if the station is null
+     */
+    SseEmitter subscribe(KitchenStation station) throws IllegalArgumentException;
+
+    /**
+     * Queues the orders currently in the kitchen that are not queued yet,
+     * e.g. after a restart; an order already queued keeps its tickets.
+     */
+    void rebuildQueues();
+}
@@ -0,0 +1,84 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.dto.MenuItem;
+import com.groupnine.sushi9.dto.MenuSnapshot;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Ingredient;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interface for reading and editing the menu.
+ * Reads are served from an immutable in-memory {@link MenuSnapshot} without
+ * touching the database; edits replace the dishes they changed shortly after they commit.
+ */
+public interface MenuService {
+
+    /**
+     * Returns the current menu snapshot.
+     */
+    MenuSnapshot getMenu();
+
+    /**
+     * Returns a dish of the current menu.
+     *
+     * @throws IllegalArgumentException if the dish is not on the menu
+     */
+    MenuItem getMenuItem(long dishId) throws IllegalArgumentException;
+
+    /**
+     * Returns the dishes of the current menu that contain all the required
+     * ingredients and none of the excluded ones, e.g. to hide allergens.
+     *
+     * @param requiredIngredientIds the ingredient ids every dish must contain, may be null
+     * @param excludedIngredientIds the ingredient ids no dish may contain, may be null
+     */
+    List<MenuItem> filterMenu(Collection<Long> requiredIngredientIds, Collection<Long> excludedIngredientIds);
+
+    /**
+     * @throws IllegalArgumentException if the dish is invalid or a dish with the same name exists
+     */
+    Dish createDish(Dish dish) throws IllegalArgumentException;
+
+    /**
+     * Replaces name, description, price, station and preparation time of a dish.
+     * The stock is left alone: it changes only through
+     * {@link DishStockService#restock(java.util.Map)} and orders.
+     *
+     * @throws IllegalArgumentException if the dish is not found or the changes are invalid
+     */
+    Dish updateDish(long dishId, Dish changes) throws IllegalArgumentException;
+
+    /**
+     * @throws IllegalArgumentException if the ingredient is null or has no name
+     */
+    Ingredient createIngredient(Ingredient ingredient) throws IllegalArgumentException;
+
+    /**
+     * Adds an ingredient to the recipe of a dish, or changes its quantity if already there.
+     *
+     * @param quantity the quantity of the ingredient used by one portion
+     * @throws IllegalArgumentException if the dish or the ingredient is not found or the quantity is not positive
+     */
+    Dish addIngredientToDish(long dishId, long ingredientId, double quantity) throws IllegalArgumentException;
+
+    /**
+     * @throws IllegalArgumentException if the dish or the ingredient is not found
+     */
+    Dish removeIngredientFromDish(long dishId, long ingredientId) throws IllegalArgumentException;
+
+    /**
+     * Updates the stock of some dishes in the menu shortly after the current transaction
+     * commits, reading the committed quantities.
+     *
+     * @param dishIds the dishes whose stock changed
+     */
+    void refreshAvailability(Collection<Long> dishIds);
+
+    /**
+     * Rebuilds the whole snapshot from the primary database. Edits committed while
+     * it runs are applied on top of it afterwards.
+     */
+    void refresh();
+}
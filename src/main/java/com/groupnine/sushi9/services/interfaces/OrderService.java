@@ -0,0 +1,142 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderHistory;
+import com.groupnine.sushi9.model.OrderState;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for managing {@link Order} entities.
+ * Orders follow the lifecycle open, sent to kitchen, served, paid; each transition
+ * is applied atomically, so concurrent updates from different tablets never get lost.
+ */
+public interface OrderService {
+
+    /**
+     * Creates a new order in the {@link OrderState#OPEN} state.
+     * One portion of each ordered dish is taken out of stock in the same transaction.
+     *
+     * @param order the order to create
+     * @return the created order
+     * @throws IllegalArgumentException if order data is invalid or a dish has not enough portions
+     */
+    Order createOrder(Order order) throws IllegalArgumentException;
+
+    /**
+     * Creates a new order in the {@link OrderState#OPEN} state from the ids of its parts.
+     * A dish id may appear more than once, once per portion.
+     *
+     * @param tableId           the id of the table
+     * @param employeeTaxCode   the tax code of the employee managing the order, may be null
+     * @param customerTaxCodes  the tax codes of the customers
+     * @param dishIds           the ids of the ordered dishes
+     * @return the created order
+     * @throws IllegalArgumentException if the table, the employee, a customer or a dish is not found,
+     *                                  or a dish has not enough portions
+     */
+    Order createOrder(long tableId, String employeeTaxCode, List<String> customerTaxCodes,
+                      List<Long> dishIds) throws IllegalArgumentException;
+
+    /**
+     * Finds an order by id.
+     *
+     * @param id the id of the order
+     * @return the order with the specified id
+     * @throws IllegalArgumentException if the order is not found
+     */
+    Order getOrderById(long id) throws IllegalArgumentException;
+
+    /**
+     * Retrieves all orders in a given state.
+     *
+     * @param state the state to search for
+     * @return a list of orders in the specified state
+     * @throws IllegalArgumentException if state is null
+     */
+    List<Order> getOrdersByState(OrderState state) throws IllegalArgumentException;
+
+    /**
+     * Moves an order from the expected state to the next one.
+     * The update succeeds only if the order is still in the expected state.
+     *
+     * @param id the id of the order
+     * @param expected the state the order is expected to be in
+     * @param next the new state
+     * @throws IllegalArgumentException if the order is not found, the transition is not allowed
+     *                                  or the order is no longer in the expected state
+     */
+    void changeState(long id, OrderState expected, OrderState next) throws IllegalArgumentException;
+
+    /**
+     * Sends an open order to the kitchen.
+     *
+     * @param id the id of the order
+     * @throws IllegalArgumentException if the order is not found or not open
+     */
+    void sendToKitchen(long id) throws IllegalArgumentException;
+
+    /**
+     * Marks an order sent to the kitchen as served.
+     *
+     * @param id the id of the order
+     * @throws IllegalArgumentException if the order is not found or not sent to the kitchen
+     */
+    void serve(long id) throws IllegalArgumentException;
+
+    /**
+     * Marks a served order as paid, completing it.
+     *
+     * @param id the id of the order
+     * @throws IllegalArgumentException if the order is not found or not served
+     */
+    void pay(long id) throws IllegalArgumentException;
+
+    /**
+     * Deletes an order that has not been paid yet.
+     * The portions of an order not yet sent to the kitchen go back to stock.
+     *
+     * @param id the id of the order
+     * @throws IllegalArgumentException if the order is not found or already completed
+     */
+    void deleteOrder(long id) throws IllegalArgumentException;
+
+    /**
+     * Finds the orders created between two days, inclusive.
+     *
+     * @param startDate the first day
+     * @param endDate   the last day
+     * @return the orders still in the orders table; archived orders are not included
+     * @throws IllegalArgumentException if dates are null or start is after end
+     */
+    List<Order> getOrdersBetweenDates(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException;
+
+    /**
+     * Finds the archived orders created between two days, inclusive.
+     *
+     * @param startDate the first day
+     * @param endDate   the last day
+     * @return the archived orders, ordered by day
+     * @throws IllegalArgumentException if dates are null or start is after end
+     */
+    List<OrderHistory> getOrderHistoryBetweenDates(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException;
+
+    /**
+     * Moves the paid orders of every day before the cutoff into the order history.
+     * Each chunk is archived in its own transaction; orders of those days that are
+     * not paid yet stay in the orders table.
+     *
+     * @param cutoff the first day that is not archived
+     * @return the number of archived orders
+     * @throws IllegalArgumentException if cutoff is null
+     */
+    int archiveOrdersBefore(LocalDate cutoff) throws IllegalArgumentException;
+
+    /**
+     * Archives the paid orders older than the configured retention period.
+     *
+     * @return the number of archived orders
+     */
+    int archiveClosedDays();
+}
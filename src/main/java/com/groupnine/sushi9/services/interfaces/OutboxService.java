@@ -0,0 +1,40 @@
+package com.groupnine.sushi9.services.interfaces;
+
+/**
+ * Interface for the transactional outbox of customer, employee and order changes.
+ * Events are stored in the transaction of the change, so they exist if and only
+ * if the change committed, and are handed to the configured sink in batches by a
+ * background publisher. Delivery is at least once; the events of one aggregate
+ * are delivered in the order they committed, with no ordering across aggregates.
+ */
+public interface OutboxService {
+
+    String CUSTOMER = "customer";
+    String EMPLOYEE = "employee";
+    String ORDER = "order";
+
+    /**
+     * Stores an event in the current transaction, with the next sequence number of its aggregate.
+     * The aggregate stays locked until the transaction ends.
+     *
+     * @param aggregateType the kind of entity that changed
+     * @param aggregateId   the id of the entity that changed
+     * @param eventType     what happened, e.g. {@code customer.created}
+     * @param payload       the event data, serialized as JSON
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no transaction
+     */
+    void record(String aggregateType, String aggregateId, String eventType, Object payload);
+
+    /**
+     * Publishes the pending events to the sink and removes them from the outbox.
+     * Each batch holds at most one event per aggregate, the one with the lowest sequence.
+     *
+     * @return the number of published events
+     */
+    int publishPending();
+
+    /**
+     * Returns the number of events not yet published.
+     */
+    long countPending();
+}
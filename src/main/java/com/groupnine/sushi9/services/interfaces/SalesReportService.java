@@ -0,0 +1,57 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.model.DailyDishSales;
+import com.groupnine.sushi9.model.DailyEmployeeSales;
+import com.groupnine.sushi9.model.DailyTableSales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for the daily sales rollups by dish, employee and table.
+ * Paid orders are queued in the database by the paying transaction and added to
+ * the rollup tables by a periodic flush, so reports read a few pre-aggregated rows
+ * instead of scanning orders; they lag behind payments by at most one flush interval.
+ */
+public interface SalesReportService {
+
+    /**
+     * Queues a paid order for the rollups; must be called in the paying transaction,
+     * so the order is counted if and only if the payment commits.
+     *
+     * @param orderId the id of the paid order
+     */
+    void recordPaidOrder(long orderId);
+
+    /**
+     * Adds the queued paid orders to the rollup tables.
+     *
+     * @return the number of rollup rows written
+     */
+    int flush();
+
+    /**
+     * Recomputes the rollups of a day from its paid and archived orders.
+     * Queued orders read by the rebuild are removed from the queue, so they are not added twice.
+     * Dish revenue of archived orders uses the current dish prices.
+     *
+     * @param day the day to rebuild
+     * @throws IllegalArgumentException if the day is null
+     */
+    void rebuildDay(LocalDate day) throws IllegalArgumentException;
+
+    /**
+     * @throws IllegalArgumentException if a date is null or the range is invalid
+     */
+    List<DailyDishSales> getDishSales(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException;
+
+    /**
+     * @throws IllegalArgumentException if a date is null or the range is invalid
+     */
+    List<DailyEmployeeSales> getEmployeeSales(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException;
+
+    /**
+     * @throws IllegalArgumentException if a date is null or the range is invalid
+     */
+    List<DailyTableSales> getTableSales(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException;
+}
@@ -0,0 +1,78 @@
+package com.groupnine.sushi9.services.interfaces;
+
+import com.groupnine.sushi9.model.RestaurantTable;
+
+import java.util.List;
+
+/**
+ * Interface for managing {@link RestaurantTable} entities and seating parties.
+ * Occupancy is answered from memory and kept in sync with the table entities;
+ * concurrent seat requests never get the same table.
+ */
+public interface TableService {
+
+    /**
+     * Adds a new free table.
+     *
+     * @param numSeats the number of seats of the table
+     * @return the created table
+     * @throws IllegalArgumentException if numSeats is not positive
+     */
+    RestaurantTable createTable(int numSeats) throws IllegalArgumentException;
+
+    /**
+     * Finds a table by id.
+     *
+     * @param id the id of the table
+     * @return the table with the specified id
+     * @throws IllegalArgumentException if the table is not found
+     */
+    RestaurantTable getTableById(long id) throws IllegalArgumentException;
+
+    /**
+     * Retrieves all tables.
+     *
+     * @return a list of all tables
+     */
+    List<RestaurantTable> getAllTables();
+
+    /**
+     * Seats a party at the smallest free table with enough seats.
+     *
+     * @param guests the size of the party
+     * @return the table assigned to the party, now occupied
+     * @throws IllegalArgumentException if guests is not positive or no suitable table is free
+     */
+    RestaurantTable seatParty(int guests) throws IllegalArgumentException;
+
+    /**
+     * Marks a specific table as occupied.
+     *
+     * @param id the id of the table
+     * @throws IllegalArgumentException if the table is not found or already occupied
+     */
+    void occupyTable(long id) throws IllegalArgumentException;
+
+    /**
+     * Frees an occupied table.
+     *
+     * @param id the id of the table
+     * @throws IllegalArgumentException if the table is not found or not occupied
+     */
+    void releaseTable(long id) throws IllegalArgumentException;
+
+    /**
+     * Counts the free tables with at least the given number of seats.
+     *
+     * @param minSeats the minimum number of seats
+     * @return the number of free tables
+     */
+    int countFreeTables(int minSeats);
+
+    /**
+     * Rebuilds the in-memory occupancy from the database, at startup or to repair it.
+     * New tables are added without a rebuild; a table released while a rebuild reads
+     * the database may show as occupied until the next one.
+     */
+    void refreshOccupancy();
+}
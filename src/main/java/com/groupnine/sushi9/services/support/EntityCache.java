@@ -0,0 +1,306 @@
+package com.groupnine.sushi9.services.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache keyed by a string primary key.
+ * Entries are evicted in LRU order once {@code maxSize} is reached and expire
+ * after a fixed time-to-live. Optional secondary indexes (e.g. email, phone)
+ * map an alternative key to the primary key of the cached value.
+ * <p>
+ * Values are shared between threads and must be immutable: cache snapshots
+ * (e.g. DTO records), never managed or detached entities.
+ * <p>
+ * A read-through takes a {@link #readToken()} before loading from the database and
+ * passes it to {@link #put(Object, long)}; the put is dropped if the key has been
+ * invalidated since, so a load that raced with a write cannot cache the old state.
+ *
+ * @param <V> the type of the cached snapshot
+ */
+public class EntityCache<V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Function<V, String> keyExtractor;
+    private final String[] indexNames;
+    private final List<Function<V, String>> indexExtractors;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry<V>> entries;
+    private final Map<String, Map<String, String>> indexes = new HashMap<>();
+
+    // Generazione dell'ultima invalidazione per chiave; i token più vecchi del floor
+    // sono rifiutati quando le tombstone vengono svuotate per limitarne la memoria
+    private final Map<String, Long> tombstones = new HashMap<>();
+    private long generation;
+    private long tombstoneFloor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize         the maximum number of entries
+     * @param ttl             the time-to-live of each entry
+     * @param keyExtractor    extracts the primary key from an entity
+     * @param indexExtractors secondary indexes by name; extractors may return null
+     */
+    public EntityCache(int maxSize, Duration ttl, Function<V, String> keyExtractor,
+                       Map<String, Function<V, String>> indexExtractors) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.keyExtractor = keyExtractor;
+        this.indexNames = indexExtractors.keySet().toArray(new String[0]);
+        this.indexExtractors = new ArrayList<>(indexNames.length);
+        for (String index : indexNames) {
+            this.indexExtractors.add(indexExtractors.get(index));
+            indexes.put(index, new HashMap<>());
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value with the given primary key, or null on a miss.
+     */
+    public V get(String key) {
+        if (key == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            return lookup(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached value whose secondary index value matches, or null on a miss.
+     */
+    public V getByIndex(String index, String value) {
+        Map<String, String> keys = indexes.get(index);
+        if (keys == null) {
+            throw new IllegalArgumentException("Unknown cache index: " + index);
+        }
+        if (value == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            String key = keys.get(value);
+            if (key == null) {
+                misses.increment();
+                return null;
+            }
+            return lookup(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the token to pass to {@link #put(Object, long)} for a value about to be
+     * loaded from the database. Must be taken before the load starts.
+     */
+    public long readToken() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a value in the cache, unless its key has been invalidated
+     * after the token was taken.
+     *
+     * @param value the immutable snapshot to cache
+     * @param token the {@link #readToken()} taken before the value was loaded
+     * @return true if the value was cached
+     */
+    public boolean put(V value, long token) {
+        String key = keyExtractor.apply(value);
+        if (key == null) {
+            return false;
+        }
+        String[] indexValues = new String[indexNames.length];
+        for (int i = 0; i < indexNames.length; i++) {
+            indexValues[i] = indexExtractors.get(i).apply(value);
+        }
+
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos, indexValues);
+        lock.lock();
+        try {
+            Long invalidatedAt = tombstones.get(key);
+            if (token < tombstoneFloor || (invalidatedAt != null && invalidatedAt > token)) {
+                return false;
+            }
+            Entry<V> previous = entries.put(key, entry);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            for (int i = 0; i < indexNames.length; i++) {
+                if (indexValues[i] != null) {
+                    indexes.get(indexNames[i]).put(indexValues[i], key);
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value with the given primary key, together with its secondary index entries.
+     * Loads of the key that started before this call can no longer be cached.
+     */
+    public void invalidate(String key) {
+        if (key == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            tombstone(key);
+            Entry<V> removed = entries.remove(key);
+            if (removed != null) {
+                unindex(key, removed);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value now and again once the current transaction completes.
+     * A read that loaded the pre-commit state holds a token older than the second
+     * invalidation, so its put is dropped and the old state is never cached.
+     */
+    public void invalidateOnCompletion(String key) {
+        invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            indexes.values().forEach(Map::clear);
+            // Nessuna load iniziata prima dello svuotamento può più essere messa in cache
+            generation++;
+            tombstones.clear();
+            tombstoneFloor = generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     */
+    public CacheStats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, maxSize);
+    }
+
+    // Must be called while holding the lock
+    private V lookup(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() < 0) {
+            entries.remove(key);
+            unindex(key, entry);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    // Must be called while holding the lock
+    private void tombstone(String key) {
+        generation++;
+        tombstones.put(key, generation);
+        if (tombstones.size() > maxSize) {
+            // Tombstone limitate: rifiuta i token precedenti invece di ricordare ogni chiave
+            tombstones.clear();
+            tombstoneFloor = generation;
+        }
+    }
+
+    // Must be called while holding the lock
+    private void unindex(String key, Entry<V> entry) {
+        for (int i = 0; i < indexNames.length; i++) {
+            String value = entry.indexValues[i];
+            if (value != null) {
+                // Rimuove solo se l'indice punta ancora a questa chiave
+                indexes.get(indexNames[i]).remove(value, key);
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt, String[] indexValues) { }
+
+    /**
+     * Point-in-time counters of an {@link EntityCache}.
+     *
+     * @param hits      lookups served from the cache
+     * @param misses    lookups that had to go to the database
+     * @param evictions entries removed because of size or expiry
+     * @param size      the current number of entries
+     * @param maxSize   the configured maximum number of entries
+     */
+    public record CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
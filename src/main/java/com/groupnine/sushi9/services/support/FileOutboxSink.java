@@ -0,0 +1,51 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.dto.OutboxMessage;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the events to a file, one JSON object per line.
+ * Each batch is written with a single write and forced to disk before the
+ * events are removed from the outbox.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectWriter writer;
+
+    public FileOutboxSink(Path file, JsonMapper jsonMapper) {
+        this.file = file;
+        this.writer = jsonMapper.writer();
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxMessage message : messages) {
+            lines.write(writer.writeValueAsBytes(message));
+            lines.write('\n');
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.dto.OutboxMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a message broker: every subscriber receives every
+ * event, in order, on the publisher thread. A subscriber that throws makes the
+ * batch fail, so all subscribers must tolerate receiving an event twice.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            for (Consumer<OutboxMessage> subscriber : subscribers) {
+                subscriber.accept(message);
+            }
+        }
+    }
+}
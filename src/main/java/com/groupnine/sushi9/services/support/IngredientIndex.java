@@ -0,0 +1,140 @@
+package com.groupnine.sushi9.services.support;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from ingredient to the dishes that contain it.
+ * Every dish gets a dense position, and the dishes of an ingredient are a
+ * {@link BitSet} over those positions, so "with all of these" and "without
+ * any of these" filters are a few word-wise AND/ANDNOT operations over
+ * n/64 words instead of a walk over every dish and its ingredients.
+ * Links are added and removed one at a time as dishes are edited.
+ */
+public class IngredientIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> positionByDish = new HashMap<>();
+    private final List<Long> dishByPosition = new ArrayList<>();
+    private final Map<Long, BitSet> dishesByIngredient = new HashMap<>();
+    private final BitSet allDishes = new BitSet();
+
+    /**
+     * Replaces the whole index with the given ingredients by dish id.
+     */
+    public void rebuild(Map<Long, ? extends Collection<Long>> ingredientsByDish) {
+        lock.writeLock().lock();
+        try {
+            positionByDish.clear();
+            dishByPosition.clear();
+            dishesByIngredient.clear();
+            allDishes.clear();
+            // Posizioni in ordine di id, così i risultati escono ordinati per id
+            ingredientsByDish.keySet().stream().sorted().forEach(dishId -> {
+                int position = addDishUnlocked(dishId);
+                for (Long ingredientId : ingredientsByDish.get(dishId)) {
+                    dishesByIngredient.computeIfAbsent(ingredientId, id -> new BitSet()).set(position);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addDish(long dishId) {
+        lock.writeLock().lock();
+        try {
+            addDishUnlocked(dishId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void link(long dishId, long ingredientId) {
+        lock.writeLock().lock();
+        try {
+            int position = addDishUnlocked(dishId);
+            dishesByIngredient.computeIfAbsent(ingredientId, id -> new BitSet()).set(position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unlink(long dishId, long ingredientId) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positionByDish.get(dishId);
+            BitSet dishes = dishesByIngredient.get(ingredientId);
+            if (position != null && dishes != null) {
+                dishes.clear(position);
+                if (dishes.isEmpty()) {
+                    dishesByIngredient.remove(ingredientId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the dishes that contain all the required ingredients and
+     * none of the excluded ones, in ascending id order for a fresh index.
+     *
+     * @param required the ingredient ids every dish must contain, may be empty
+     * @param excluded the ingredient ids no dish may contain, may be empty
+     */
+    public List<Long> filter(Collection<Long> required, Collection<Long> excluded) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) allDishes.clone();
+            for (Long ingredientId : required) {
+                BitSet dishes = dishesByIngredient.get(ingredientId);
+                if (dishes == null) {
+                    return List.of();
+                }
+                matches.and(dishes);
+            }
+            for (Long ingredientId : excluded) {
+                BitSet dishes = dishesByIngredient.get(ingredientId);
+                if (dishes != null) {
+                    matches.andNot(dishes);
+                }
+            }
+
+            List<Long> dishIds = new ArrayList<>(matches.cardinality());
+            for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+                dishIds.add(dishByPosition.get(position));
+            }
+            return dishIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dishCount() {
+        lock.readLock().lock();
+        try {
+            return allDishes.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int addDishUnlocked(long dishId) {
+        Integer position = positionByDish.get(dishId);
+        if (position == null) {
+            position = dishByPosition.size();
+            positionByDish.put(dishId, position);
+            dishByPosition.add(dishId);
+            allDishes.set(position);
+        }
+        return position;
+    }
+}
@@ -0,0 +1,97 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.model.KitchenStation;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server-sent event connections of the kitchen displays, grouped by station.
+ * Events of a station are sent in order by a dedicated virtual thread, so a
+ * slow display never delays the cook that triggered the event; a display whose
+ * connection fails is dropped and is expected to reconnect.
+ */
+@Component
+public class KitchenDisplayHub {
+
+    @Value("${sushi9.kitchen.sse-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<KitchenStation, List<SseEmitter>> displays = new EnumMap<>(KitchenStation.class);
+    private final Map<KitchenStation, ExecutorService> senders = new EnumMap<>(KitchenStation.class);
+
+    public KitchenDisplayHub() {
+        for (KitchenStation station : KitchenStation.values()) {
+            displays.put(station, new CopyOnWriteArrayList<>());
+            senders.put(station, Executors.newSingleThreadExecutor(Thread.ofVirtual().name("kitchen-" + station).factory()));
+        }
+    }
+
+    /**
+     * Opens an event stream for a display of a station, starting with an initial event.
+     */
+    public SseEmitter subscribe(KitchenStation station, String initialEvent, Object initialData) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> stationDisplays = displays.get(station);
+        emitter.onCompletion(() -> stationDisplays.remove(emitter));
+        emitter.onTimeout(() -> stationDisplays.remove(emitter));
+        emitter.onError(error -> stationDisplays.remove(emitter));
+        stationDisplays.add(emitter);
+
+        senders.get(station).execute(() -> send(stationDisplays, emitter, initialEvent, initialData));
+        return emitter;
+    }
+
+    /**
+     * Sends an event to every display of a station.
+     */
+    public void publish(KitchenStation station, String event, Object data) {
+        List<SseEmitter> stationDisplays = displays.get(station);
+        if (stationDisplays.isEmpty()) {
+            return;
+        }
+        senders.get(station).execute(() -> {
+            for (SseEmitter emitter : stationDisplays) {
+                send(stationDisplays, emitter, event, data);
+            }
+        });
+    }
+
+    public int displayCount(KitchenStation station) {
+        return displays.get(station).size();
+    }
+
+    @PreDestroy
+    void close() {
+        for (ExecutorService sender : senders.values()) {
+            sender.shutdownNow();
+        }
+        for (List<SseEmitter> stationDisplays : displays.values()) {
+            for (SseEmitter emitter : stationDisplays) {
+                emitter.complete();
+            }
+            stationDisplays.clear();
+        }
+    }
+
+    private void send(List<SseEmitter> stationDisplays, SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException e) {
+            stationDisplays.remove(emitter);
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            // Connessione già chiusa dal display
+            stationDisplays.remove(emitter);
+        }
+    }
+}
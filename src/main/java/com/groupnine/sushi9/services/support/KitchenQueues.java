@@ -0,0 +1,148 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.dto.KitchenTicket;
+import com.groupnine.sushi9.model.KitchenStation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-station queues of kitchen tickets, earliest {@code startBy} first.
+ * Each station is a concurrent skip list, so adding, claiming and removing a
+ * ticket are O(log n) without a global lock, and displays read the head of a
+ * queue without blocking the cooks.
+ */
+public class KitchenQueues {
+
+    private static final Comparator<KitchenTicket> PRIORITY =
+            Comparator.comparing(KitchenTicket::startBy).thenComparingLong(KitchenTicket::id);
+
+    private final Map<KitchenStation, ConcurrentSkipListSet<KitchenTicket>> waiting = new EnumMap<>(KitchenStation.class);
+    private final Map<Long, KitchenTicket> tickets = new ConcurrentHashMap<>();
+    private final Map<Long, KitchenTicket> inProgress = new ConcurrentHashMap<>();
+    private final Map<Long, List<Long>> ticketsByOrder = new ConcurrentHashMap<>();
+
+    public KitchenQueues() {
+        for (KitchenStation station : KitchenStation.values()) {
+            waiting.put(station, new ConcurrentSkipListSet<>(PRIORITY));
+        }
+    }
+
+    /**
+     * Queues the tickets of an order, unless the order is already queued.
+     * The check and the insert hold the order's entry, so an order dispatched
+     * while the queues are being rebuilt is queued once.
+     *
+     * @return true if the tickets were queued
+     */
+    public boolean addOrder(long orderId, List<KitchenTicket> orderTickets) {
+        boolean[] added = new boolean[1];
+        ticketsByOrder.computeIfAbsent(orderId, id -> {
+            List<Long> ids = new ArrayList<>(orderTickets.size());
+            for (KitchenTicket ticket : orderTickets) {
+                tickets.put(ticket.id(), ticket);
+                waiting.get(ticket.station()).add(ticket);
+                ids.add(ticket.id());
+            }
+            added[0] = true;
+            return ids;
+        });
+        return added[0];
+    }
+
+    /**
+     * Takes the most urgent waiting ticket of a station and marks it in progress.
+     *
+     * @return the ticket, or null if the station has nothing waiting
+     */
+    public KitchenTicket claimNext(KitchenStation station) {
+        KitchenTicket ticket;
+        while ((ticket = waiting.get(station).pollFirst()) != null) {
+            inProgress.put(ticket.id(), ticket);
+            // L'ordine può essere stato rimosso mentre il ticket veniva preso
+            if (tickets.containsKey(ticket.id())) {
+                return ticket;
+            }
+            inProgress.remove(ticket.id());
+        }
+        return null;
+    }
+
+    /**
+     * Removes a waiting or in-progress ticket.
+     *
+     * @return the removed ticket, or null if there is no such ticket
+     */
+    public KitchenTicket complete(long ticketId) {
+        KitchenTicket ticket = tickets.remove(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        inProgress.remove(ticketId);
+        waiting.get(ticket.station()).remove(ticket);
+        ticketsByOrder.computeIfPresent(ticket.orderId(), (orderId, ids) -> {
+            List<Long> updated = new ArrayList<>(ids);
+            updated.remove(Long.valueOf(ticketId));
+            return updated.isEmpty() ? null : updated;
+        });
+        return ticket;
+    }
+
+    /**
+     * Removes all tickets of an order, e.g. once it is served or deleted.
+     *
+     * @return the removed tickets
+     */
+    public List<KitchenTicket> removeOrder(long orderId) {
+        List<Long> ids = ticketsByOrder.remove(orderId);
+        List<KitchenTicket> removed = new ArrayList<>();
+        if (ids == null) {
+            return removed;
+        }
+        for (Long id : ids) {
+            KitchenTicket ticket = tickets.remove(id);
+            if (ticket != null) {
+                inProgress.remove(id);
+                waiting.get(ticket.station()).remove(ticket);
+                removed.add(ticket);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns up to {@code limit} waiting tickets of a station, most urgent first.
+     */
+    public List<KitchenTicket> peek(KitchenStation station, int limit) {
+        List<KitchenTicket> head = new ArrayList<>(Math.min(limit, 64));
+        Iterator<KitchenTicket> iterator = waiting.get(station).iterator();
+        while (iterator.hasNext() && head.size() < limit) {
+            head.add(iterator.next());
+        }
+        return head;
+    }
+
+    /**
+     * Returns the tickets of a station currently being prepared.
+     */
+    public List<KitchenTicket> inProgress(KitchenStation station) {
+        List<KitchenTicket> started = new ArrayList<>();
+        for (KitchenTicket ticket : inProgress.values()) {
+            if (ticket.station() == station) {
+                started.add(ticket);
+            }
+        }
+        started.sort(PRIORITY);
+        return started;
+    }
+
+    public int waitingCount(KitchenStation station) {
+        return waiting.get(station).size();
+    }
+}
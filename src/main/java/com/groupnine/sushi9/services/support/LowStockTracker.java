@@ -0,0 +1,95 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.repositories.projections.IngredientStock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of ingredients at or below their low-stock threshold.
+ * Loaded once at startup and then updated only with the ingredients whose
+ * stock just changed, so alerts never require scanning the whole inventory.
+ * <p>
+ * Levels are applied after commit, so two updates of the same ingredient can arrive
+ * in either order; each level carries the stock version it was read at and a level
+ * older than the last one applied is ignored.
+ */
+public class LowStockTracker {
+
+    private final Map<Long, IngredientStock> low = new ConcurrentHashMap<>();
+
+    // Ultima versione applicata per ingrediente, bassi o no
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    /**
+     * Replaces the whole set, e.g. with the low ingredients loaded at startup.
+     */
+    public synchronized void rebuild(Collection<IngredientStock> lowStocks) {
+        low.clear();
+        versions.clear();
+        for (IngredientStock stock : lowStocks) {
+            low.put(stock.id(), stock);
+            versions.put(stock.id(), stock.version());
+        }
+    }
+
+    /**
+     * Applies the new stock levels of some ingredients, skipping those older than
+     * the level already applied.
+     *
+     * @return the ingredients that have just gone low
+     */
+    public synchronized List<IngredientStock> update(Collection<IngredientStock> stocks) {
+        List<IngredientStock> newlyLow = new ArrayList<>();
+        for (IngredientStock stock : stocks) {
+            Long applied = versions.get(stock.id());
+            if (applied != null && applied >= stock.version()) {
+                continue;
+            }
+            versions.put(stock.id(), stock.version());
+
+            if (stock.isLow()) {
+                if (low.put(stock.id(), stock) == null) {
+                    newlyLow.add(stock);
+                }
+            } else {
+                low.remove(stock.id());
+            }
+        }
+        return newlyLow;
+    }
+
+    /**
+     * Returns the low ingredients: overdrawn ones first, then the most depleted
+     * relative to their threshold.
+     */
+    public List<IngredientStock> lowStock() {
+        List<IngredientStock> sorted = new ArrayList<>(low.values());
+        sorted.sort(Comparator.comparing((IngredientStock s) -> !s.isOverdrawn())
+                .thenComparingDouble(s -> s.stock() - s.lowStockThreshold())
+                .thenComparing(IngredientStock::id));
+        return sorted;
+    }
+
+    public int size() {
+        return low.size();
+    }
+
+    /**
+     * Returns the number of low ingredients whose stock is below zero.
+     */
+    public int overdrawnCount() {
+        int count = 0;
+        for (IngredientStock stock : low.values()) {
+            if (stock.isOverdrawn()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
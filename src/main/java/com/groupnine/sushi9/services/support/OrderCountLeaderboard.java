@@ -0,0 +1,126 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Incrementally maintained ranking of people by number of orders.
+ * Updated on every order creation and deletion instead of grouping and sorting
+ * the whole orders table on each read. The current leader is cached, so reading
+ * it is O(1); the top K entries are read in O(log n + K).
+ * A transaction that changes the counts holds an update from before its commit
+ * until its changes are applied; a rebuild waits for those and holds new ones
+ * back while it loads, so each order is counted either by the load or by its
+ * own change, never by both or neither.
+ */
+public class OrderCountLeaderboard {
+
+    private static final Comparator<OrderCount> RANKING =
+            Comparator.<OrderCount, Long>comparing(OrderCount::orderCount, Comparator.reverseOrder())
+                    .thenComparing(OrderCount::taxCode);
+
+    private final Map<String, Long> counts = new HashMap<>();
+    private final TreeSet<OrderCount> ranking = new TreeSet<>(RANKING);
+    private volatile OrderCount leader;
+    private final ReadWriteLock updates = new ReentrantReadWriteLock();
+
+    /**
+     * Replaces the whole ranking with the counts returned by the loader, e.g. read
+     * from the database at startup. No update can commit while the loader runs.
+     */
+    public void rebuild(Supplier<List<OrderCount>> loader) {
+        updates.writeLock().lock();
+        try {
+            replace(loader.get());
+        } finally {
+            updates.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called before a transaction that changes the counts commits; waits while a
+     * rebuild is loading. Must be followed by {@link #endUpdate()} on the same thread.
+     */
+    public void beginUpdate() {
+        updates.readLock().lock();
+    }
+
+    /**
+     * Called once the changes of the transaction have been applied, or it rolled back.
+     */
+    public void endUpdate() {
+        updates.readLock().unlock();
+    }
+
+    private synchronized void replace(List<OrderCount> orderCounts) {
+        counts.clear();
+        ranking.clear();
+        for (OrderCount orderCount : orderCounts) {
+            if (orderCount.orderCount() > 0) {
+                counts.put(orderCount.taxCode(), orderCount.orderCount());
+                ranking.add(orderCount);
+            }
+        }
+        leader = ranking.isEmpty() ? null : ranking.first();
+    }
+
+    public synchronized void increment(String taxCode) {
+        add(taxCode, 1);
+    }
+
+    public synchronized void decrement(String taxCode) {
+        add(taxCode, -1);
+    }
+
+    /**
+     * Returns the person with the most orders, or null if nobody has any.
+     */
+    public OrderCount top() {
+        return leader;
+    }
+
+    /**
+     * Returns the k people with the most orders, best first.
+     */
+    public synchronized List<OrderCount> top(int k) {
+        List<OrderCount> top = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<OrderCount> iterator = ranking.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    public synchronized long countOf(String taxCode) {
+        return counts.getOrDefault(taxCode, 0L);
+    }
+
+    // Must be called while holding the lock
+    private void add(String taxCode, long delta) {
+        if (taxCode == null) {
+            return;
+        }
+        long previous = counts.getOrDefault(taxCode, 0L);
+        long current = Math.max(0, previous + delta);
+        if (previous > 0) {
+            ranking.remove(new OrderCount(taxCode, previous));
+        }
+        if (current > 0) {
+            counts.put(taxCode, current);
+            ranking.add(new OrderCount(taxCode, current));
+        } else {
+            counts.remove(taxCode);
+        }
+        leader = ranking.isEmpty() ? null : ranking.first();
+    }
+}
@@ -0,0 +1,20 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.dto.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox events, e.g. a message broker.
+ * A batch is deleted from the outbox only if {@link #publish} returns normally;
+ * if it throws, the whole batch is published again on the next run.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes a batch of events, at most one per aggregate.
+     *
+     * @throws Exception if the batch could not be published
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
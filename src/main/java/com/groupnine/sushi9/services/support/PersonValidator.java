@@ -0,0 +1,156 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Field validation shared by the customer and employee services.
+ * <p>
+ * The checkers accept exactly what the patterns in {@code Constants} accept,
+ * but walk the characters directly: no {@code Matcher} is created and nothing
+ * is allocated, which matters on the bulk import path where every row is checked.
+ */
+@Component
+public class PersonValidator {
+
+    // Struttura fissa del codice fiscale: L = lettera maiuscola, D = cifra
+    private static final String TAXCODE_LAYOUT = "LLLLLLDDLDDLDDDL";
+
+    private static final int PHONE_MIN_DIGITS = 10;
+    private static final int PHONE_MAX_DIGITS = 15;
+
+    /**
+     * Checks the fields shared by every new customer. The phone number is optional.
+     */
+    public ValidationResult validate(Customer customer) {
+        if (customer == null) {
+            return ValidationResult.NULL_ENTITY;
+        }
+
+        ValidationResult result = validateTaxCode(customer.getTaxCode());
+        if (!result.isValid()) {
+            return result;
+        }
+
+        String email = customer.getEmail();
+        if (email == null || email.isEmpty()) {
+            return ValidationResult.MISSING_EMAIL;
+        }
+        if (!isValidEmail(email)) {
+            return ValidationResult.INVALID_EMAIL;
+        }
+
+        String phone = customer.getPhoneNumber();
+        if (phone != null && !isValidPhone(phone)) {
+            return ValidationResult.INVALID_PHONE;
+        }
+
+        return ValidationResult.VALID;
+    }
+
+    /**
+     * Checks the fields shared by every new employee. The hire date is optional.
+     */
+    public ValidationResult validate(Employee employee) {
+        if (employee == null) {
+            return ValidationResult.NULL_ENTITY;
+        }
+
+        ValidationResult result = validateTaxCode(employee.getTaxCode());
+        if (!result.isValid()) {
+            return result;
+        }
+
+        if (employee.getSalary() < 0) {
+            return ValidationResult.INVALID_SALARY;
+        }
+
+        if (employee.getHireDate() != null && employee.getHireDate().isAfter(LocalDate.now())) {
+            return ValidationResult.FUTURE_HIRE_DATE;
+        }
+
+        return ValidationResult.VALID;
+    }
+
+    public ValidationResult validateTaxCode(String taxCode) {
+        if (taxCode == null || taxCode.isEmpty()) {
+            return ValidationResult.MISSING_TAX_CODE;
+        }
+        return isValidTaxCode(taxCode) ? ValidationResult.VALID : ValidationResult.INVALID_TAX_CODE;
+    }
+
+    /**
+     * Same as {@code Constants.TAXCODE_PATTERN}: six letters, two digits, a letter,
+     * two digits, a letter, three digits and a final letter, all upper case.
+     */
+    public boolean isValidTaxCode(CharSequence taxCode) {
+        if (taxCode == null || taxCode.length() != TAXCODE_LAYOUT.length()) {
+            return false;
+        }
+        for (int i = 0; i < TAXCODE_LAYOUT.length(); i++) {
+            char c = taxCode.charAt(i);
+            boolean ok = TAXCODE_LAYOUT.charAt(i) == 'L' ? c >= 'A' && c <= 'Z' : c >= '0' && c <= '9';
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code Constants.PHONE_PATTERN}: an optional leading '+' followed by 10 to 15 digits.
+     */
+    public boolean isValidPhone(CharSequence phone) {
+        if (phone == null) {
+            return false;
+        }
+        int start = phone.length() > 0 && phone.charAt(0) == '+' ? 1 : 0;
+        int digits = phone.length() - start;
+        if (digits < PHONE_MIN_DIGITS || digits > PHONE_MAX_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code Constants.EMAIL_PATTERN}: a non-empty local part of letters, digits
+     * and {@code + _ . -}, an '@', then at least one character other than a line terminator.
+     */
+    public boolean isValidEmail(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+        int at = 0;
+        while (at < email.length() && isEmailLocalChar(email.charAt(at))) {
+            at++;
+        }
+        if (at == 0 || at >= email.length() - 1 || email.charAt(at) != '@') {
+            return false;
+        }
+        for (int i = at + 1; i < email.length(); i++) {
+            if (isLineTerminator(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    // I caratteri che il '.' di una regex Java non riconosce
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
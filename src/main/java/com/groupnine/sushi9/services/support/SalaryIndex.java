@@ -0,0 +1,117 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.dto.SalaryStats;
+import com.groupnine.sushi9.repositories.projections.SalaryEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, sorted snapshot of employee salaries.
+ * Maximum and percentiles are array lookups, counts above a threshold are a
+ * binary search; statistics per job title are precomputed when the snapshot is built.
+ */
+public final class SalaryIndex {
+
+    /** Key used for employees without a job title. */
+    public static final String NO_JOB_TITLE = "";
+
+    private final double[] sorted;
+    private final SalaryStats stats;
+    private final Map<String, SalaryStats> byJobTitle;
+
+    private SalaryIndex(double[] sorted, Map<String, SalaryStats> byJobTitle) {
+        this.sorted = sorted;
+        this.stats = statsOf(sorted);
+        this.byJobTitle = byJobTitle;
+    }
+
+    public static SalaryIndex build(List<SalaryEntry> entries) {
+        double[] all = new double[entries.size()];
+        Map<String, List<Double>> grouped = new HashMap<>();
+        for (int i = 0; i < all.length; i++) {
+            SalaryEntry entry = entries.get(i);
+            double salary = entry.salary() != null ? entry.salary() : 0.0;
+            all[i] = salary;
+            String jobTitle = entry.jobTitle() != null ? entry.jobTitle() : NO_JOB_TITLE;
+            grouped.computeIfAbsent(jobTitle, k -> new ArrayList<>()).add(salary);
+        }
+        Arrays.sort(all);
+
+        Map<String, SalaryStats> byJobTitle = new TreeMap<>();
+        for (Map.Entry<String, List<Double>> group : grouped.entrySet()) {
+            double[] salaries = new double[group.getValue().size()];
+            for (int i = 0; i < salaries.length; i++) {
+                salaries[i] = group.getValue().get(i);
+            }
+            Arrays.sort(salaries);
+            byJobTitle.put(group.getKey(), statsOf(salaries));
+        }
+
+        return new SalaryIndex(all, Collections.unmodifiableMap(byJobTitle));
+    }
+
+    public int size() {
+        return sorted.length;
+    }
+
+    public SalaryStats stats() {
+        return stats;
+    }
+
+    public Map<String, SalaryStats> byJobTitle() {
+        return byJobTitle;
+    }
+
+    /**
+     * Returns the salary at the given percentile (0-100), or 0 if there are no employees.
+     */
+    public double percentile(double percentile) {
+        return percentileOf(sorted, percentile);
+    }
+
+    /**
+     * Counts the salaries strictly greater than the threshold.
+     */
+    public int countAbove(double threshold) {
+        // Primo indice con stipendio > threshold
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= threshold) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return sorted.length - low;
+    }
+
+    private static SalaryStats statsOf(double[] sorted) {
+        if (sorted.length == 0) {
+            return new SalaryStats(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        double sum = 0;
+        for (double salary : sorted) {
+            sum += salary;
+        }
+        return new SalaryStats(sorted.length, sorted[0], sorted[sorted.length - 1], sum / sorted.length,
+                percentileOf(sorted, 25), percentileOf(sorted, 50),
+                percentileOf(sorted, 75), percentileOf(sorted, 90));
+    }
+
+    // Nearest-rank
+    private static double percentileOf(double[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(Math.max(rank - 1, 0), sorted.length - 1)];
+    }
+}
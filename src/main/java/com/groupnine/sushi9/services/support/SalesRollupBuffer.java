@@ -0,0 +1,104 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.model.DailyDishSales;
+import com.groupnine.sushi9.model.DailyEmployeeSales;
+import com.groupnine.sushi9.model.DailyTableSales;
+import com.groupnine.sushi9.repositories.projections.SaleLine;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deltas of the daily sales rollups collected from a batch of paid orders
+ * before they are written to the rollup tables.
+ * Many paid orders on the same day, dish, employee or table collapse into a
+ * single row update instead of one read-modify-write per order.
+ */
+public class SalesRollupBuffer {
+
+    /**
+     * Units (portions or orders) and revenue to add to one rollup row.
+     */
+    public record Totals(long count, double revenue) {
+
+        Totals plus(long count, double revenue) {
+            return new Totals(this.count + count, this.revenue + revenue);
+        }
+    }
+
+    /**
+     * Deltas taken out of the buffer by {@link #drain()}.
+     */
+    public record Snapshot(Map<DailyDishSales.Key, Totals> dishes,
+                           Map<DailyEmployeeSales.Key, Totals> employees,
+                           Map<DailyTableSales.Key, Totals> tables) {
+
+        public boolean isEmpty() {
+            return dishes.isEmpty() && employees.isEmpty() && tables.isEmpty();
+        }
+    }
+
+    private Map<DailyDishSales.Key, Totals> dishes = new HashMap<>();
+    private Map<DailyEmployeeSales.Key, Totals> employees = new HashMap<>();
+    private Map<DailyTableSales.Key, Totals> tables = new HashMap<>();
+
+    /**
+     * Adds the portions of one or more paid orders.
+     */
+    public synchronized void add(List<SaleLine> lines) {
+        Map<Long, SaleLine> firstLineByOrder = new LinkedHashMap<>();
+        Map<Long, Double> totalByOrder = new HashMap<>();
+
+        for (SaleLine line : lines) {
+            double price = line.price() != null ? line.price() : 0;
+            addDish(line.day(), line.dishId(), price);
+            firstLineByOrder.putIfAbsent(line.orderId(), line);
+            totalByOrder.merge(line.orderId(), price, Double::sum);
+        }
+
+        for (SaleLine line : firstLineByOrder.values()) {
+            addOrder(line.day(), line.employeeTaxCode(), line.tableId(), totalByOrder.get(line.orderId()));
+        }
+    }
+
+    /**
+     * Adds one paid order to the employee and table rollups only, e.g. from an
+     * archived order whose per-dish prices are no longer known.
+     */
+    public synchronized void addOrder(LocalDate day, String employeeTaxCode, Long tableId, double total) {
+        if (employeeTaxCode != null) {
+            employees.merge(new DailyEmployeeSales.Key(day, employeeTaxCode), new Totals(1, total),
+                    (a, b) -> a.plus(b.count(), b.revenue()));
+        }
+        if (tableId != null) {
+            tables.merge(new DailyTableSales.Key(day, tableId), new Totals(1, total),
+                    (a, b) -> a.plus(b.count(), b.revenue()));
+        }
+    }
+
+    /**
+     * Adds one portion of a dish to the dish rollup only.
+     */
+    public synchronized void addDish(LocalDate day, long dishId, double price) {
+        dishes.merge(new DailyDishSales.Key(day, dishId), new Totals(1, price),
+                (a, b) -> a.plus(b.count(), b.revenue()));
+    }
+
+    /**
+     * Takes all accumulated deltas, leaving the buffer empty.
+     */
+    public synchronized Snapshot drain() {
+        Snapshot snapshot = new Snapshot(dishes, employees, tables);
+        dishes = new HashMap<>();
+        employees = new HashMap<>();
+        tables = new HashMap<>();
+        return snapshot;
+    }
+
+    public synchronized boolean isEmpty() {
+        return dishes.isEmpty() && employees.isEmpty() && tables.isEmpty();
+    }
+}
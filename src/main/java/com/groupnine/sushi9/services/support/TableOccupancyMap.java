@@ -0,0 +1,200 @@
+package com.groupnine.sushi9.services.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory occupancy of the restaurant tables.
+ * Tables are grouped in buckets by number of seats; each bucket keeps a bitset of
+ * its free tables. Finding the smallest free table for a party scans only the
+ * handful of distinct capacities, and claiming a table is an atomic bit flip
+ * under the bucket's lock, so two parties can never be given the same table.
+ * <p>
+ * Tables can be added in place with {@link #add(TableSlot)}; removing tables
+ * means building a new instance.
+ */
+public class TableOccupancyMap {
+
+    /**
+     * A table as seen by the occupancy map.
+     *
+     * @param id       the table id
+     * @param numSeats the number of seats
+     * @param free     whether the table is free
+     */
+    public record TableSlot(long id, int numSeats, boolean free) { }
+
+    // tableIds cresce con add(): letto e scritto solo con il lock del bucket
+    private static final class Bucket {
+        final int capacity;
+        long[] tableIds;
+        final BitSet free;
+
+        Bucket(int capacity, long[] tableIds) {
+            this.capacity = capacity;
+            this.tableIds = tableIds;
+            this.free = new BitSet(tableIds.length);
+        }
+    }
+
+    private record Location(Bucket bucket, int slot) { }
+
+    // Ordinati per capienza crescente; sostituiti insieme quando add() crea un bucket
+    private record Buckets(Bucket[] buckets, int[] capacities) { }
+
+    private volatile Buckets index;
+    private final Map<Long, Location> locations = new ConcurrentHashMap<>();
+
+    public TableOccupancyMap(List<TableSlot> tables) {
+        TreeMap<Integer, List<TableSlot>> byCapacity = new TreeMap<>();
+        for (TableSlot table : tables) {
+            byCapacity.computeIfAbsent(table.numSeats(), k -> new ArrayList<>()).add(table);
+        }
+
+        Bucket[] buckets = new Bucket[byCapacity.size()];
+        int[] capacities = new int[byCapacity.size()];
+        int b = 0;
+        for (Map.Entry<Integer, List<TableSlot>> entry : byCapacity.entrySet()) {
+            List<TableSlot> slots = entry.getValue();
+            long[] ids = new long[slots.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = slots.get(i).id();
+            }
+            Bucket bucket = new Bucket(entry.getKey(), ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (slots.get(i).free()) {
+                    bucket.free.set(i);
+                }
+                locations.put(ids[i], new Location(bucket, i));
+            }
+            buckets[b] = bucket;
+            capacities[b] = entry.getKey();
+            b++;
+        }
+        this.index = new Buckets(buckets, capacities);
+    }
+
+    /**
+     * Adds a table, e.g. one just created; a table already in the map is left as it is.
+     */
+    public synchronized void add(TableSlot table) {
+        if (locations.containsKey(table.id())) {
+            return;
+        }
+
+        Buckets current = index;
+        int b = Arrays.binarySearch(current.capacities(), table.numSeats());
+        Bucket bucket;
+        if (b >= 0) {
+            bucket = current.buckets()[b];
+        } else {
+            // Nuova capienza: nuovi array con il bucket al suo posto, pubblicati in un colpo solo
+            int insert = -b - 1;
+            bucket = new Bucket(table.numSeats(), new long[0]);
+            Bucket[] buckets = new Bucket[current.buckets().length + 1];
+            int[] capacities = new int[buckets.length];
+            for (int i = 0, j = 0; i < buckets.length; i++) {
+                if (i == insert) {
+                    buckets[i] = bucket;
+                    capacities[i] = table.numSeats();
+                } else {
+                    buckets[i] = current.buckets()[j];
+                    capacities[i] = current.capacities()[j];
+                    j++;
+                }
+            }
+            index = new Buckets(buckets, capacities);
+        }
+
+        synchronized (bucket) {
+            int slot = bucket.tableIds.length;
+            bucket.tableIds = Arrays.copyOf(bucket.tableIds, slot + 1);
+            bucket.tableIds[slot] = table.id();
+            if (table.free()) {
+                bucket.free.set(slot);
+            }
+            locations.put(table.id(), new Location(bucket, slot));
+        }
+    }
+
+    /**
+     * Claims the smallest free table with at least the given number of seats.
+     *
+     * @param guests the size of the party
+     * @return the id of the claimed table, or -1 if no suitable table is free
+     */
+    public long claimSmallest(int guests) {
+        Buckets current = index;
+        int first = Arrays.binarySearch(current.capacities(), guests);
+        if (first < 0) {
+            first = -first - 1;
+        }
+        for (int b = first; b < current.buckets().length; b++) {
+            Bucket bucket = current.buckets()[b];
+            synchronized (bucket) {
+                int slot = bucket.free.nextSetBit(0);
+                if (slot >= 0) {
+                    bucket.free.clear(slot);
+                    return bucket.tableIds[slot];
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Claims a specific table.
+     *
+     * @return true if the table was free and is now claimed, false otherwise
+     */
+    public boolean claim(long tableId) {
+        Location location = locations.get(tableId);
+        if (location == null) {
+            return false;
+        }
+        synchronized (location.bucket()) {
+            if (!location.bucket().free.get(location.slot())) {
+                return false;
+            }
+            location.bucket().free.clear(location.slot());
+            return true;
+        }
+    }
+
+    /**
+     * Marks a table as free again.
+     */
+    public void release(long tableId) {
+        Location location = locations.get(tableId);
+        if (location == null) {
+            return;
+        }
+        synchronized (location.bucket()) {
+            location.bucket().free.set(location.slot());
+        }
+    }
+
+    public boolean contains(long tableId) {
+        return locations.containsKey(tableId);
+    }
+
+    /**
+     * Counts the free tables with at least the given number of seats.
+     */
+    public int countFree(int minSeats) {
+        int count = 0;
+        for (Bucket bucket : index.buckets()) {
+            if (bucket.capacity >= minSeats) {
+                synchronized (bucket) {
+                    count += bucket.free.cardinality();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,38 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.utils.Constants;
+
+/**
+ * Outcome of a {@link PersonValidator} check.
+ * The constants carry their message, so a failed check costs neither an
+ * exception nor a string: callers throw or record a reject only when needed.
+ */
+public enum ValidationResult {
+
+    VALID(null),
+    NULL_ENTITY(Constants.NULL_OR_EMPTY_PARAMETER),
+    MISSING_TAX_CODE(Constants.TAXCODE_REQUIRED),
+    INVALID_TAX_CODE(Constants.INVALID_TAXCODE),
+    MISSING_EMAIL(Constants.EMAIL_REQUIRED),
+    INVALID_EMAIL(Constants.INVALID_EMAIL),
+    INVALID_PHONE(Constants.INVALID_PHONE),
+    INVALID_SALARY(Constants.INVALID_SALARY),
+    FUTURE_HIRE_DATE(Constants.HIRE_DATE_IN_FUTURE);
+
+    private final String message;
+
+    ValidationResult(String message) {
+        this.message = message;
+    }
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    /**
+     * Returns the error message, or null for {@link #VALID}.
+     */
+    public String message() {
+        return message;
+    }
+}
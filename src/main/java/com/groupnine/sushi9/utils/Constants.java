@@ -10,6 +10,11 @@ public class Constants {
     public static final String INVALID_EMAIL = "Invalid email format";
     public static final String INVALID_PHONE = "Invalid phone number format";
     public static final String INVALID_DATE = "Invalid date";
+    public static final String INVALID_PAGE_SIZE = "Page size must be greater than 0";
+    public static final String INVALID_TAXCODE = "Invalid tax code format";
+    public static final String TAXCODE_REQUIRED = "Tax code cannot be null or empty";
+    public static final String EMAIL_REQUIRED = "Email cannot be null or empty";
+    public static final String HIRE_DATE_IN_FUTURE = "Hire date cannot be in the future";
 
     // Not found messages
     public static final String NO_EMPLOYEE_WITH_TAXCODE = "No employee found with taxCode: ";
@@ -18,18 +23,29 @@ public class Constants {
     public static final String NO_DISH_WITH_ID = "No dish found with id: ";
     public static final String NO_INGREDIENT_WITH_ID = "No ingredient found with id: ";
     public static final String NO_TABLE_WITH_ID = "No table found with id: ";
+    public static final String NO_RESERVATION_WITH_ID = "No stock reservation found with id: ";
+    public static final String NO_TICKET_WITH_ID = "No kitchen ticket found with id: ";
 
     // Already exists messages
     public static final String EMPLOYEE_ALREADY_EXISTS = "Employee already exists with taxCode: ";
     public static final String CUSTOMER_ALREADY_EXISTS = "Customer already exists with taxCode: ";
     public static final String DISH_ALREADY_EXISTS = "Dish already exists with name: ";
+    public static final String DUPLICATE_IN_BATCH = "Duplicate entry in batch: ";
 
     // Business rules
     public static final String ORDER_ALREADY_COMPLETED = "Order is already completed";
+    public static final String INVALID_ORDER_TRANSITION = "Invalid order state transition: ";
     public static final String TABLE_OCCUPIED = "Table is already occupied";
+    public static final String TABLE_NOT_OCCUPIED = "Table is not occupied";
+    public static final String NO_FREE_TABLE = "No free table available for guests: ";
     public static final String INSUFFICIENT_QUANTITY = "Insufficient quantity available";
 
-    // Validation patterns
+    // Pagination
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    // Validation patterns (PersonValidator implements the same rules without regex)
     public static final String EMAIL_PATTERN = "^[A-Za-z0-9+_.-]+@(.+)$";
     public static final String PHONE_PATTERN = "^[+]?[0-9]{10,15}$";
     public static final String TAXCODE_PATTERN = "^[A-Z]{6}[0-9]{2}[A-Z][0-9]{2}[A-Z][0-9]{3}[A-Z]$";
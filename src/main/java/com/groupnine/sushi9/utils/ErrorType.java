@@ -0,0 +1,75 @@
+package com.groupnine.sushi9.utils;
+
+/**
+ * Classification of service errors by their {@link Constants} message,
+ * used as a low-cardinality tag for metrics and for mapping errors to responses.
+ */
+public enum ErrorType {
+
+    /** The requested entity does not exist. */
+    NOT_FOUND,
+    /** The entity, or one of its unique fields, already exists. */
+    ALREADY_EXISTS,
+    /** The request is valid but breaks a business rule in the current state. */
+    CONFLICT,
+    /** The request itself is invalid. */
+    VALIDATION,
+    /** Anything that is not an {@link IllegalArgumentException}. */
+    INTERNAL;
+
+    private static final String[] NOT_FOUND_PREFIXES = {
+            Constants.NO_EMPLOYEE_WITH_TAXCODE, Constants.NO_CUSTOMER_WITH_TAXCODE, Constants.NO_ORDER_WITH_ID,
+            Constants.NO_DISH_WITH_ID, Constants.NO_INGREDIENT_WITH_ID, Constants.NO_TABLE_WITH_ID,
+            Constants.NO_RESERVATION_WITH_ID, Constants.NO_TICKET_WITH_ID
+    };
+
+    private static final String[] ALREADY_EXISTS_PREFIXES = {
+            Constants.EMPLOYEE_ALREADY_EXISTS, Constants.CUSTOMER_ALREADY_EXISTS, Constants.DISH_ALREADY_EXISTS,
+            Constants.DUPLICATE_IN_BATCH
+    };
+
+    private static final String[] CONFLICT_PREFIXES = {
+            Constants.ORDER_ALREADY_COMPLETED, Constants.INVALID_ORDER_TRANSITION, Constants.TABLE_OCCUPIED,
+            Constants.TABLE_NOT_OCCUPIED, Constants.NO_FREE_TABLE, Constants.INSUFFICIENT_QUANTITY
+    };
+
+    private final String tag = name().toLowerCase();
+
+    /**
+     * Returns the tag value for metrics, e.g. {@code not_found}.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    public static ErrorType of(Throwable error) {
+        if (!(error instanceof IllegalArgumentException)) {
+            return INTERNAL;
+        }
+        String message = error.getMessage();
+        if (message == null) {
+            return VALIDATION;
+        }
+        if (startsWithAny(message, CONFLICT_PREFIXES)) {
+            return CONFLICT;
+        }
+        if (startsWithAny(message, NOT_FOUND_PREFIXES)) {
+            return NOT_FOUND;
+        }
+        // Email e telefono duplicati hanno messaggi composti ("... already exists", "... is already in use")
+        if (startsWithAny(message, ALREADY_EXISTS_PREFIXES)
+                || message.endsWith("already exists") || message.endsWith("already in use")) {
+            return ALREADY_EXISTS;
+        }
+        return VALIDATION;
+    }
+
+    private static boolean startsWithAny(String message, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (message.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package com.groupnine.sushi9.utils;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Builds lazy streams on top of keyset-paginated queries.
+ * A page is loaded only once the previous one has been consumed, so at most
+ * one page is held in memory regardless of the size of the underlying table.
+ * <p>
+ * Pages of entities should be read through
+ * {@link #stream(PlatformTransactionManager, BiFunction, Function, int)}: consumed outside
+ * a transaction, every page gets its own persistence context, closed as soon as the page
+ * is loaded, so pages already consumed are not kept managed.
+ */
+public final class KeysetStreams {
+
+    private KeysetStreams() { }
+
+    /**
+     * Creates a stream that walks a keyset-paginated source.
+     *
+     * @param pageLoader   loads the page following the given key (null for the first page)
+     * @param keyExtractor extracts the seek key from an element
+     * @param pageSize     the number of elements requested per page
+     * @param <T>          the element type
+     * @param <K>          the key type
+     * @return a sequential, ordered, lazily loaded stream
+     */
+    public static <T, K> Stream<T> stream(BiFunction<K, Integer, List<T>> pageLoader,
+                                          Function<T, K> keyExtractor,
+                                          int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_PAGE_SIZE);
+        }
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private Iterator<T> page = Collections.emptyIterator();
+            private K lastKey;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!page.hasNext()) {
+                    if (exhausted) {
+                        return false;
+                    }
+                    List<T> next = pageLoader.apply(lastKey, pageSize);
+                    // Una pagina incompleta è sempre l'ultima
+                    exhausted = next.size() < pageSize;
+                    if (next.isEmpty()) {
+                        return false;
+                    }
+                    lastKey = keyExtractor.apply(next.get(next.size() - 1));
+                    page = next.iterator();
+                }
+                action.accept(page.next());
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Creates a stream that loads each page in a read-only transaction.
+     * Consumed outside a transaction, each page has a transaction of its own and the
+     * returned elements are detached. Consumed inside one, pages join it and stay managed
+     * until it ends: the stream then holds one connection, not two, but memory grows
+     * with the rows read.
+     *
+     * @param transactionManager the transaction manager used for every page
+     * @param pageLoader         loads the page following the given key (null for the first page)
+     * @param keyExtractor       extracts the seek key from an element
+     * @param pageSize           the number of elements requested per page
+     * @param <T>                the element type
+     * @param <K>                the key type
+     * @return a sequential, ordered, lazily loaded stream
+     */
+    public static <T, K> Stream<T> stream(PlatformTransactionManager transactionManager,
+                                          BiFunction<K, Integer, List<T>> pageLoader,
+                                          Function<T, K> keyExtractor,
+                                          int pageSize) {
+        TransactionTemplate pageTransaction = new TransactionTemplate(transactionManager);
+        // REQUIRED, non REQUIRES_NEW: dentro una transazione del chiamante una seconda
+        // connessione per pagina occuperebbe due permessi del limite di concorrenza
+        pageTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        pageTransaction.setReadOnly(true);
+        return stream((K after, Integer size) -> pageTransaction.execute(status -> pageLoader.apply(after, size)),
+                keyExtractor, pageSize);
+    }
+}
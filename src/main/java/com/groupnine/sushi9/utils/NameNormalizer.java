@@ -0,0 +1,45 @@
+package com.groupnine.sushi9.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Normalizes person names for indexed search: lower case, accents removed,
+ * surrounding whitespace trimmed ("Nicolò " becomes "nicolo").
+ */
+public final class NameNormalizer {
+
+    private NameNormalizer() { }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(name.trim(), Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            // Scarta gli accenti separati dalla decomposizione NFD
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a normalized term, using '\' as escape character.
+     */
+    public static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 4);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.groupnine.sushi9.config;
+
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Due database H2 in memoria: il primario e il replica
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + ReadReplicaConfigTests.PRIMARY_URL,
+		"sushi9.datasource.read.url=" + ReadReplicaConfigTests.REPLICA_URL
+})
+class ReadReplicaConfigTests {
+
+	static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void readOnlyTransactionsUseTheReplica() {
+		assertTrue(urlInTransaction(true).contains("replica"));
+	}
+
+	@Test
+	void readWriteTransactionsUseThePrimary() {
+		assertTrue(urlInTransaction(false).contains("primary"));
+	}
+
+	@Test
+	void readOnlyServiceCallsReadFromTheReplica() throws SQLException {
+		customerService.createCustomer(new Customer("RSSMRA80A01H501U", "Mario", "Rossi", "3331234567", "mario@example.com"));
+		replicate();
+		// Scritto dopo la copia: il replica non lo vede ancora
+		customerService.createCustomer(new Customer("BNCGLI90C03F205Y", "Giulia", "Bianchi", "3337654321", "giulia@example.com"));
+
+		assertEquals(1, customerService.findSummariesByFirstName("Mario").size());
+		assertTrue(customerService.findSummariesByFirstName("Giulia").isEmpty());
+		assertEquals("Giulia", customerService.getCustomerById("BNCGLI90C03F205Y").firstName());
+	}
+
+	// Copia schema e dati del primario sul replica, come farebbe la replica del database
+	private void replicate() throws SQLException {
+		try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+			 Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+			 Statement source = primary.createStatement();
+			 ResultSet statements = source.executeQuery("SCRIPT");
+			 Statement target = replica.createStatement()) {
+			while (statements.next()) {
+				target.execute(statements.getString(1));
+			}
+		}
+	}
+
+	private String urlInTransaction(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> {
+			Connection connection = DataSourceUtils.getConnection(dataSource);
+			try {
+				return connection.getMetaData().getURL();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+}
@@ -0,0 +1,97 @@
+package com.groupnine.sushi9.repositories;
+
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.RestaurantTable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OrderRepositoryTests {
+
+	private static final int ORDERS = 10;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		Customer customer = new Customer("RSSMRA80A01H501U", "Mario", "Rossi", "3331234567", "mario@example.com");
+		Employee employee = new Employee("VRDLGU85B02F205X", "Luigi", "Verdi", 1800, "Waiter", LocalDate.of(2020, 1, 1));
+		entityManager.persist(customer);
+		entityManager.persist(employee);
+
+		for (int i = 0; i < ORDERS; i++) {
+			RestaurantTable table = new RestaurantTable();
+			table.setNumSeats(4);
+			entityManager.persist(table);
+
+			Dish nigiri = new Dish("Nigiri " + i, null, 4.5, 10);
+			Dish uramaki = new Dish("Uramaki " + i, null, 6.0, 10);
+			entityManager.persist(nigiri);
+			entityManager.persist(uramaki);
+
+			Order order = new Order();
+			order.setTable(table);
+			order.setEmployee(employee);
+			order.setDishes(new ArrayList<>(List.of(nigiri, uramaki)));
+			order.setCustomers(new ArrayList<>(List.of(customer)));
+			entityManager.persist(order);
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void customerOrdersAreLoadedWithASingleStatement() {
+		List<Order> orders = orderRepository.findByCustomerWithDetails("RSSMRA80A01H501U");
+		touch(orders);
+
+		assertEquals(ORDERS, orders.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void employeeOrdersAreLoadedWithASingleStatement() {
+		List<Order> orders = orderRepository.findByEmployeeWithDetails("VRDLGU85B02F205X");
+		touch(orders);
+
+		assertEquals(ORDERS, orders.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	// Accede alle associazioni come farebbe la serializzazione
+	private void touch(List<Order> orders) {
+		for (Order order : orders) {
+			assertEquals(2, order.getPlates().size());
+			order.getPlates().forEach(Dish::getName);
+			order.getTable().getNumSeats();
+			order.getEmployee().getFirstName();
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.BatchResult;
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.repositories.CustomerRepository;
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Senza @Transactional: l'import apre una transazione per blocco e le committa
+@SpringBootTest
+class CustomerServiceTests {
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void batchRejectsADuplicateEmailAndImportsTheOtherRows() {
+		customerService.createCustomer(new Customer("BTCMRA80A01H501A", "Mario", "Rossi", "3330000001", "batch@example.com"));
+
+		BatchResult result = customerService.createCustomers(List.of(
+				new Customer("BTCLGU80A01H501B", "Luigi", "Verdi", "3330000002", "luigi.batch@example.com"),
+				new Customer("BTCGLI80A01H501C", "Giulia", "Bianchi", "3330000003", "batch@example.com"),
+				new Customer("BTCANN80A01H501D", "Anna", "Neri", "3330000004", "anna.batch@example.com")));
+
+		assertEquals(3, result.submitted());
+		assertEquals(2, result.imported());
+		assertEquals(1, result.rejects().size());
+		assertEquals(1, result.rejects().getFirst().row());
+		assertEquals("BTCGLI80A01H501C", result.rejects().getFirst().taxCode());
+		assertTrue(result.rejects().getFirst().reason().contains("batch@example.com"));
+
+		assertTrue(customerRepository.existsById("BTCLGU80A01H501B"));
+		assertFalse(customerRepository.existsById("BTCGLI80A01H501C"));
+		assertTrue(customerRepository.existsById("BTCANN80A01H501D"));
+	}
+
+	@Test
+	void chunkFailingInTheDatabaseIsRetriedRowByRow() {
+		// Stesso taxCode di un dipendente: il controllo sui customer non lo vede,
+		// la chiave primaria di PERSON sì e fa fallire l'intero blocco
+		employeeService.createEmployee(new Employee("RTYSTF80A01H501E", "Stefano", "Costa", 1800, "Waiter",
+				LocalDate.of(2020, 1, 1)));
+
+		BatchResult result = customerService.createCustomers(List.of(
+				new Customer("RTYMRC80A01H501F", "Marco", "Greco", "3330000011", "marco.retry@example.com"),
+				new Customer("RTYSTF80A01H501E", "Stefano", "Costa", "3330000012", "stefano.retry@example.com"),
+				new Customer("RTYELN80A01H501G", "Elena", "Conti", "3330000013", "elena.retry@example.com")));
+
+		assertEquals(2, result.imported());
+		assertEquals(1, result.rejects().size());
+		assertEquals(1, result.rejects().getFirst().row());
+		assertEquals("RTYSTF80A01H501E", result.rejects().getFirst().taxCode());
+
+		assertTrue(customerRepository.existsById("RTYMRC80A01H501F"));
+		assertTrue(customerRepository.existsById("RTYELN80A01H501G"));
+	}
+
+	@Test
+	void concurrentDuplicateEmailIsReportedAsEmail() throws Exception {
+		Throwable failure = createWhileAnotherIsUncommitted(
+				new Customer("DUPMRA80A01H501H", "Mario", "Rossi", "3330000021", "race@example.com"),
+				new Customer("DUPLGU80A01H501I", "Luigi", "Verdi", "3330000022", "race@example.com"));
+
+		assertInstanceOf(IllegalArgumentException.class, failure);
+		assertEquals("Customer with email race@example.com already exists", failure.getMessage());
+	}
+
+	@Test
+	void concurrentDuplicatePhoneIsReportedAsPhone() throws Exception {
+		Throwable failure = createWhileAnotherIsUncommitted(
+				new Customer("DUPGLI80A01H501L", "Giulia", "Bianchi", "3330000031", "giulia.race@example.com"),
+				new Customer("DUPANN80A01H501M", "Anna", "Neri", "3330000031", "anna.race@example.com"));
+
+		assertInstanceOf(IllegalArgumentException.class, failure);
+		assertEquals("Customer with phone number 3330000031 already exists", failure.getMessage());
+	}
+
+	@Test
+	void otherViolationIsNotReportedAsAnExistingCustomer() {
+		// Un'email valida ma più lunga della colonna
+		String email = "a".repeat(300) + "@example.com";
+		Customer customer = new Customer("LNGMRC80A01H501N", "Marco", "Greco", "3330000041", email);
+
+		DataIntegrityViolationException failure = assertThrows(DataIntegrityViolationException.class,
+				() -> customerService.createCustomer(customer));
+
+		assertFalse(String.valueOf(failure.getMessage()).contains("already exists"));
+		assertFalse(customerRepository.existsById("LNGMRC80A01H501N"));
+	}
+
+	// Il primo insert resta senza commit, così il controllo del secondo non lo vede
+	// e il conflitto arriva dal vincolo unico del database
+	private Throwable createWhileAnotherIsUncommitted(Customer first, Customer second) throws Exception {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CountDownLatch inserted = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+
+		Future<?> holder = executor.submit(() -> transaction.executeWithoutResult(status -> {
+			customerService.createCustomer(first);
+			inserted.countDown();
+			await(commit);
+		}));
+		assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+		Future<?> racer = executor.submit(() -> customerService.createCustomer(second));
+		Thread.sleep(200);
+		commit.countDown();
+
+		holder.get(10, TimeUnit.SECONDS);
+		ExecutionException failure = assertThrows(ExecutionException.class, () -> racer.get(10, TimeUnit.SECONDS));
+		return failure.getCause();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.StockReservation;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.RestaurantTableRepository;
+import com.groupnine.sushi9.services.interfaces.DishStockService;
+import com.groupnine.sushi9.services.interfaces.MenuService;
+import com.groupnine.sushi9.services.interfaces.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Senza @Transactional: ogni chiamata committa, come in produzione
+@SpringBootTest
+class DishStockServiceTests {
+
+	@Autowired
+	private DishStockService dishStockService;
+
+	@Autowired
+	private MenuService menuService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private DishRepository dishRepository;
+
+	@Autowired
+	private RestaurantTableRepository tableRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void twoReservationsForTheLastPortionDoNotBothSucceed() throws Exception {
+		long dishId = dish("Uramaki Last Portion", 1);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CountDownLatch reserved = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+
+		// La prima prenotazione tiene la riga bloccata finché il test non la lascia committare
+		Future<StockReservation> first = executor.submit(() -> transaction.execute(status -> {
+			StockReservation reservation = dishStockService.reserve(Map.of(dishId, 1));
+			reserved.countDown();
+			await(commit);
+			return reservation;
+		}));
+		assertTrue(reserved.await(10, TimeUnit.SECONDS));
+
+		Future<StockReservation> second = executor.submit(() -> dishStockService.reserve(Map.of(dishId, 1)));
+		// La seconda resta in attesa sul lock della riga, poi trova lo stock a zero
+		Thread.sleep(200);
+		commit.countDown();
+
+		assertNotNull(first.get(10, TimeUnit.SECONDS));
+		ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+		assertEquals(0, quantity(dishId));
+	}
+
+	@Test
+	void updatingADishKeepsTheReservedPortions() {
+		long dishId = dish("Nigiri Update", 5);
+		dishStockService.reserve(Map.of(dishId, 2));
+
+		Dish changes = new Dish("Nigiri Update", "Con salmone", 5.0, 10);
+		menuService.updateDish(dishId, changes);
+
+		assertEquals(3, quantity(dishId));
+		assertEquals(5.0, dishRepository.findById(dishId).orElseThrow().getPrice());
+
+		dishStockService.restock(Map.of(dishId, 4));
+		assertEquals(7, quantity(dishId));
+	}
+
+	@Test
+	void ordersTakeTheirPortionsFromStock() {
+		long dishId = dish("Temaki Order", 2);
+		RestaurantTable table = new RestaurantTable();
+		table.setNumSeats(2);
+		long tableId = tableRepository.save(table).getId();
+
+		assertThrows(IllegalArgumentException.class,
+				() -> orderService.createOrder(tableId, null, List.of(), List.of(dishId, dishId, dishId)));
+		assertEquals(2, quantity(dishId));
+
+		long orderId = orderService.createOrder(tableId, null, List.of(), List.of(dishId, dishId)).getId();
+		assertEquals(0, quantity(dishId));
+
+		orderService.deleteOrder(orderId);
+		assertEquals(2, quantity(dishId));
+	}
+
+	private long dish(String name, int quantity) {
+		return dishRepository.save(new Dish(name, null, 4.5, quantity)).getId();
+	}
+
+	private int quantity(long dishId) {
+		return dishRepository.findById(dishId).orElseThrow().getQuantity();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.repositories.EmployeeRepository;
+import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Senza @Transactional: l'indice degli stipendi si invalida solo dopo il commit
+@SpringBootTest
+class EmployeeServiceTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void salaryIndexFollowsCommittedWritesOnly() {
+		employeeService.getSalaryStats();
+		employeeService.createEmployee(new Employee("SLRMRA80A01H501R", "Mario", "Rossi", 2100, "Chef",
+				LocalDate.of(2021, 3, 1)));
+		assertEquals(employeeRepository.count(), employeeService.getSalaryStats().count());
+
+		// Un altro tablet committa mentre la transazione è aperta, quindi la lettura ricostruisce
+		// l'indice: costruito dentro la transazione vedrebbe il dipendente mai committato
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			employeeService.createEmployee(new Employee("SLRLGU80A01H501S", "Luigi", "Verdi", 9000, "Manager",
+					LocalDate.of(2021, 3, 1)));
+			join(executor.submit(() -> employeeService.createEmployee(new Employee("SLRGLI80A01H501T", "Giulia",
+					"Bianchi", 1900, "Waiter", LocalDate.of(2021, 3, 1)))));
+			employeeService.getSalaryStats();
+			status.setRollbackOnly();
+		});
+
+		assertEquals(employeeRepository.count(), employeeService.getSalaryStats().count());
+	}
+
+	private static void join(Future<?> future) {
+		try {
+			future.get(10, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.KitchenTicket;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.KitchenStation;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.RestaurantTableRepository;
+import com.groupnine.sushi9.services.interfaces.KitchenService;
+import com.groupnine.sushi9.services.interfaces.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Senza @Transactional: le code si aggiornano solo dopo il commit
+@SpringBootTest
+class KitchenServiceTests {
+
+	@Autowired
+	private KitchenService kitchenService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private DishRepository dishRepository;
+
+	@Autowired
+	private RestaurantTableRepository tableRepository;
+
+	@Test
+	void rebuildingKeepsAnOrderAlreadyQueued() {
+		long dishId = dishRepository.save(new Dish("Hosomaki Kitchen", null, 4.0, 10)).getId();
+		RestaurantTable table = new RestaurantTable();
+		table.setNumSeats(2);
+		long tableId = tableRepository.save(table).getId();
+		long orderId = orderService.createOrder(tableId, null, List.of(), List.of(dishId, dishId)).getId();
+
+		orderService.sendToKitchen(orderId);
+		List<KitchenTicket> dispatched = ticketsOf(orderId);
+		kitchenService.rebuildQueues();
+
+		assertEquals(2, dispatched.size());
+		assertEquals(dispatched, ticketsOf(orderId));
+
+		orderService.serve(orderId);
+		assertEquals(List.of(), ticketsOf(orderId));
+	}
+
+	private List<KitchenTicket> ticketsOf(long orderId) {
+		return Arrays.stream(KitchenStation.values())
+				.flatMap(station -> kitchenService.getQueue(station, 1000).stream())
+				.filter(ticket -> ticket.orderId() == orderId)
+				.toList();
+	}
+}
@@ -0,0 +1,200 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.model.Customer;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.Employee;
+import com.groupnine.sushi9.model.Order;
+import com.groupnine.sushi9.model.OrderState;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.repositories.CustomerRepository;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.EmployeeRepository;
+import com.groupnine.sushi9.repositories.OrderRepository;
+import com.groupnine.sushi9.repositories.RestaurantTableRepository;
+import com.groupnine.sushi9.repositories.projections.OrderCount;
+import com.groupnine.sushi9.services.interfaces.CustomerService;
+import com.groupnine.sushi9.services.interfaces.EmployeeService;
+import com.groupnine.sushi9.services.interfaces.OrderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Senza @Transactional: ogni chiamata committa, come in produzione
+@SpringBootTest
+class OrderServiceTests {
+
+	private static final int TABLETS = 4;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private DishRepository dishRepository;
+
+	@Autowired
+	private RestaurantTableRepository tableRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(TABLETS);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentPaymentsSucceedExactlyOnce() throws Exception {
+		long orderId = servedOrder("Nigiri Pay");
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Future<?>> payments = new ArrayList<>();
+		for (int i = 0; i < TABLETS; i++) {
+			payments.add(executor.submit(() -> {
+				start.await(10, TimeUnit.SECONDS);
+				orderService.pay(orderId);
+				return null;
+			}));
+		}
+		start.countDown();
+
+		int paid = 0;
+		for (Future<?> payment : payments) {
+			try {
+				payment.get(10, TimeUnit.SECONDS);
+				paid++;
+			} catch (ExecutionException e) {
+				assertInstanceOf(IllegalArgumentException.class, e.getCause());
+			}
+		}
+
+		assertEquals(1, paid);
+		assertEquals(OrderState.PAID, orderRepository.findStateById(orderId).orElseThrow());
+	}
+
+	@Test
+	void stateChangeKeepsTheLoadedOrderManagedAndCurrent() {
+		long orderId = openOrder("Uramaki Kitchen");
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Order loaded = entityManager.find(Order.class, orderId);
+			orderService.sendToKitchen(orderId);
+
+			assertTrue(entityManager.contains(loaded));
+			assertEquals(OrderState.SENT_TO_KITCHEN, loaded.getstate());
+		});
+	}
+
+	@Test
+	void leaderboardRebuiltWhileAnOrderCommitsCountsItOnce() throws Exception {
+		customerService.createCustomer(new Customer("LDBMRA80A01H501O", "Mario", "Rossi", "3330000051", "mario.board@example.com"));
+		employeeService.createEmployee(new Employee("LDBGLI80A01H501Q", "Giulia", "Bianchi", 1800, "Waiter",
+				LocalDate.of(2020, 1, 1)));
+		long dishId = dishRepository.save(new Dish("Gunkan Board", null, 5.0, 10)).getId();
+		RestaurantTable table = new RestaurantTable();
+		table.setNumSeats(4);
+		long tableId = tableRepository.save(table).getId();
+		orderService.createOrder(tableId, "LDBGLI80A01H501Q", List.of("LDBMRA80A01H501O"), List.of(dishId));
+
+		// La ricostruzione parte quando l'ordine è già nel database ma le classifiche
+		// non l'hanno ancora contato: registrata prima, questa sincronizzazione gira per prima
+		List<Future<?>> rebuilds = new ArrayList<>();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					rebuilds.add(executor.submit(() -> {
+						customerService.rebuildLeaderboard();
+						employeeService.rebuildLeaderboard();
+					}));
+					sleep(200);
+				}
+			});
+			orderService.createOrder(tableId, "LDBGLI80A01H501Q", List.of("LDBMRA80A01H501O"), List.of(dishId));
+		});
+		rebuilds.getFirst().get(10, TimeUnit.SECONDS);
+
+		assertEquals(2, customerCount("LDBMRA80A01H501O"));
+		assertEquals(countsOf(customerRepository.countOrdersByCustomer()),
+				countsOf(customerService.findTopCustomersByOrderCount(Integer.MAX_VALUE)));
+		assertEquals(countsOf(employeeRepository.countOrdersByEmployee()),
+				countsOf(employeeService.findTopEmployeesByOrderCount(Integer.MAX_VALUE)));
+	}
+
+	private long customerCount(String taxCode) {
+		return customerService.findTopCustomersByOrderCount(Integer.MAX_VALUE).stream()
+				.filter(count -> count.taxCode().equals(taxCode))
+				.findFirst().orElseThrow().orderCount();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Map<String, Long> countsOf(List<OrderCount> counts) {
+		return counts.stream()
+				.filter(count -> count.orderCount() > 0)
+				.collect(Collectors.toMap(OrderCount::taxCode, OrderCount::orderCount));
+	}
+
+	private long servedOrder(String dishName) {
+		long orderId = openOrder(dishName);
+		orderService.sendToKitchen(orderId);
+		orderService.serve(orderId);
+		return orderId;
+	}
+
+	private long openOrder(String dishName) {
+		long dishId = dishRepository.save(new Dish(dishName, null, 4.5, 10)).getId();
+		RestaurantTable table = new RestaurantTable();
+		table.setNumSeats(2);
+		long tableId = tableRepository.save(table).getId();
+		return orderService.createOrder(tableId, null, List.of(), List.of(dishId)).getId();
+	}
+}
@@ -0,0 +1,136 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.dto.OutboxMessage;
+import com.groupnine.sushi9.repositories.OutboxEventRepository;
+import com.groupnine.sushi9.services.interfaces.OutboxService;
+import com.groupnine.sushi9.services.support.InMemoryOutboxSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Senza @Transactional: gli eventi escono solo dopo il commit di chi li registra
+@SpringBootTest
+class OutboxServiceTests {
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private InMemoryOutboxSink sink;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		subscribers.forEach(sink::unsubscribe);
+		executor.shutdownNow();
+	}
+
+	@Test
+	void eventsOfOneAggregateLeaveInSeparateBatchesInSequenceOrder() throws Exception {
+		List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+		List<Boolean> earlierStillPending = new CopyOnWriteArrayList<>();
+		subscribe(message -> {
+			if (message.aggregateId().equals("ordering")) {
+				// Nello stesso batch il primo evento sarebbe ancora in tabella
+				if (!received.isEmpty()) {
+					earlierStillPending.add(outboxEventRepository.existsById(received.getFirst().id()));
+				}
+				received.add(message);
+			}
+		});
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			outboxService.record(OutboxService.ORDER, "ordering", "order.created", Map.of("step", 1));
+			outboxService.record(OutboxService.ORDER, "ordering", "order.state-changed", Map.of("step", 2));
+		});
+		publishUntil(() -> received.size() == 2);
+
+		assertEquals(List.of(1L, 2L), received.stream().map(OutboxMessage::sequence).toList());
+		assertEquals(List.of("order.created", "order.state-changed"),
+				received.stream().map(OutboxMessage::eventType).toList());
+		assertEquals(List.of(false), earlierStillPending);
+	}
+
+	@Test
+	void firstEventsOfANewAggregateRecordedConcurrentlyBothCommit() throws Exception {
+		List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+		subscribe(message -> {
+			if (message.aggregateId().equals("first-events")) {
+				received.add(message);
+			}
+		});
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CountDownLatch recorded = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+
+		// Il primo tiene aperta la transazione con la riga dell'aggregato appena creata
+		Future<?> first = executor.submit(() -> transaction.executeWithoutResult(status -> {
+			outboxService.record(OutboxService.ORDER, "first-events", "order.created", Map.of("by", "first"));
+			recorded.countDown();
+			await(commit);
+		}));
+		assertTrue(recorded.await(10, TimeUnit.SECONDS));
+
+		Future<?> second = executor.submit(() -> transaction.executeWithoutResult(status ->
+				outboxService.record(OutboxService.ORDER, "first-events", "order.created", Map.of("by", "second"))));
+		Thread.sleep(200);
+		assertFalse(second.isDone());
+		commit.countDown();
+
+		first.get(10, TimeUnit.SECONDS);
+		second.get(10, TimeUnit.SECONDS);
+		publishUntil(() -> received.size() == 2);
+
+		assertEquals(List.of(1L, 2L), received.stream().map(OutboxMessage::sequence).toList());
+		assertTrue(received.getFirst().payload().contains("first"));
+	}
+
+	private void subscribe(Consumer<OutboxMessage> subscriber) {
+		subscribers.add(subscriber);
+		sink.subscribe(subscriber);
+	}
+
+	// Anche il publisher schedulato può consegnare: si pubblica finché gli eventi non arrivano
+	private void publishUntil(BooleanSupplier done) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!done.getAsBoolean() && System.nanoTime() < deadline) {
+			outboxService.publishPending();
+			Thread.sleep(50);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
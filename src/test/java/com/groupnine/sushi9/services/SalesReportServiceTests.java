@@ -0,0 +1,85 @@
+package com.groupnine.sushi9.services;
+
+import com.groupnine.sushi9.model.DailyDishSales;
+import com.groupnine.sushi9.model.DailyTableSales;
+import com.groupnine.sushi9.model.Dish;
+import com.groupnine.sushi9.model.RestaurantTable;
+import com.groupnine.sushi9.repositories.DishRepository;
+import com.groupnine.sushi9.repositories.RestaurantTableRepository;
+import com.groupnine.sushi9.services.interfaces.OrderService;
+import com.groupnine.sushi9.services.interfaces.SalesReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Senza @Transactional: il flush legge la coda scritta dalle transazioni di pagamento
+@SpringBootTest
+class SalesReportServiceTests {
+
+	@Autowired
+	private SalesReportService salesReportService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private DishRepository dishRepository;
+
+	@Autowired
+	private RestaurantTableRepository tableRepository;
+
+	@Test
+	void paidOrdersAreCountedOnceAcrossFlushesAndRebuilds() {
+		long dishId = dishRepository.save(new Dish("Chirashi Report", null, 4.5, 20)).getId();
+		RestaurantTable table = new RestaurantTable();
+		table.setNumSeats(4);
+		long tableId = tableRepository.save(table).getId();
+
+		LocalDate day = null;
+		for (int i = 0; i < 3; i++) {
+			day = paidOrder(tableId, dishId);
+		}
+
+		// Anche il flush schedulato può aver già svuotato la coda: i totali non cambiano
+		salesReportService.flush();
+		salesReportService.flush();
+		assertTotals(day, tableId, dishId, 3);
+
+		salesReportService.rebuildDay(day);
+		salesReportService.flush();
+		assertTotals(day, tableId, dishId, 3);
+
+		day = paidOrder(tableId, dishId);
+		salesReportService.flush();
+		salesReportService.flush();
+		assertTotals(day, tableId, dishId, 4);
+	}
+
+	private LocalDate paidOrder(long tableId, long dishId) {
+		long orderId = orderService.createOrder(tableId, null, List.of(), List.of(dishId, dishId)).getId();
+		orderService.sendToKitchen(orderId);
+		orderService.serve(orderId);
+		orderService.pay(orderId);
+		return orderService.getOrderById(orderId).getOrderDate();
+	}
+
+	// Ogni ordine ha due porzioni da 4.5
+	private void assertTotals(LocalDate day, long tableId, long dishId, int orders) {
+		DailyTableSales tableSales = salesReportService.getTableSales(day, day).stream()
+				.filter(sales -> sales.getTableId() == tableId)
+				.findFirst().orElseThrow();
+		assertEquals(orders, tableSales.getOrders());
+		assertEquals(orders * 9.0, tableSales.getRevenue(), 1e-9);
+
+		DailyDishSales dishSales = salesReportService.getDishSales(day, day).stream()
+				.filter(sales -> sales.getDishId() == dishId)
+				.findFirst().orElseThrow();
+		assertEquals(orders * 2L, dishSales.getQuantity());
+		assertEquals(orders * 9.0, dishSales.getRevenue(), 1e-9);
+	}
+}
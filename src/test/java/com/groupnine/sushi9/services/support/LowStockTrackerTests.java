@@ -0,0 +1,54 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.repositories.projections.IngredientStock;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// I livelli arrivano dopo il commit e possono arrivare in qualsiasi ordine
+class LowStockTrackerTests {
+
+	private final LowStockTracker tracker = new LowStockTracker();
+
+	@Test
+	void reportsAnIngredientOnlyWhenItGoesLow() {
+		tracker.rebuild(List.of(stock(1L, "Salmone", 2.0, 1L)));
+
+		assertEquals(List.of(), tracker.update(List.of(stock(1L, "Salmone", 1.0, 2L))));
+		assertEquals(List.of(stock(2L, "Riso", 3.0, 1L)), tracker.update(List.of(stock(2L, "Riso", 3.0, 1L))));
+		assertEquals(2, tracker.size());
+
+		tracker.update(List.of(stock(1L, "Salmone", 50.0, 3L)));
+		assertEquals(List.of(stock(2L, "Riso", 3.0, 1L)), tracker.lowStock());
+	}
+
+	@Test
+	void ignoresALevelOlderThanTheOneApplied() {
+		tracker.rebuild(List.of());
+
+		tracker.update(List.of(stock(1L, "Tonno", 50.0, 5L)));
+		assertEquals(List.of(), tracker.update(List.of(stock(1L, "Tonno", 2.0, 4L))));
+		assertEquals(0, tracker.size());
+
+		tracker.update(List.of(stock(1L, "Tonno", 2.0, 6L)));
+		assertEquals(1, tracker.size());
+	}
+
+	@Test
+	void listsOverdrawnIngredientsFirstThenTheMostDepleted() {
+		tracker.rebuild(List.of(
+				stock(1L, "Nori", 4.0, 1L),
+				stock(2L, "Avocado", -1.0, 1L),
+				stock(3L, "Wasabi", 1.0, 1L)));
+
+		assertEquals(List.of(2L, 3L, 1L), tracker.lowStock().stream().map(IngredientStock::id).toList());
+		assertEquals(1, tracker.overdrawnCount());
+	}
+
+	// Soglia fissa a 5
+	private static IngredientStock stock(Long id, String name, double stock, long version) {
+		return new IngredientStock(id, name, stock, 5.0, version);
+	}
+}
@@ -0,0 +1,46 @@
+package com.groupnine.sushi9.services.support;
+
+import com.groupnine.sushi9.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// I controlli scritti a mano devono accettare esattamente ciò che accettano le regex
+class PersonValidatorTests {
+
+	private final PersonValidator validator = new PersonValidator();
+
+	@Test
+	void taxCodeCheckMatchesPattern() {
+		assertSameAsPattern(Constants.TAXCODE_PATTERN, validator::isValidTaxCode, List.of(
+				"RSSMRA80A01H501U", "rssmra80a01h501u", "RSSMRA80A01H501", "RSSMRA80A01H501UX",
+				"RSSMR480A01H501U", "RSSMRA8AA01H501U", "RSSMRA80001H501U", "RSSMRA80A01H50AU",
+				"RSSMRA80A01H5012", "", "ÀSSMRA80A01H501U"));
+	}
+
+	@Test
+	void phoneCheckMatchesPattern() {
+		assertSameAsPattern(Constants.PHONE_PATTERN, validator::isValidPhone, List.of(
+				"3331234567", "+393331234567", "333123456", "+333123456", "333123456789012",
+				"3331234567890123", "++3331234567", "333 1234567", "333123456a", "+", ""));
+	}
+
+	@Test
+	void emailCheckMatchesPattern() {
+		assertSameAsPattern(Constants.EMAIL_PATTERN, validator::isValidEmail, List.of(
+				"mario.rossi@example.com", "m+tag_1-x@x", "@example.com", "mario@", "mario",
+				"mario rossi@example.com", "mario@ex ample", "mario@@example.com", "mario@ex\nample",
+				"mario@example.com\n", "màrio@example.com", ""));
+	}
+
+	private static void assertSameAsPattern(String regex, Predicate<String> check, List<String> inputs) {
+		Pattern pattern = Pattern.compile(regex);
+		for (String input : inputs) {
+			assertEquals(pattern.matcher(input).matches(), check.test(input), input);
+		}
+	}
+}